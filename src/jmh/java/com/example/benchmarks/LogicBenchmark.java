@@ -0,0 +1,173 @@
+package com.example.benchmarks;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Board;
+import com.example.logic.Card;
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.logic.Move;
+import com.example.logic.UndoRecord;
+
+/**
+ * Benchmarks of the game logic hot paths used by the players.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogicBenchmark {
+
+    // Fixed start position, so that results do not depend on the random cards of new Game()
+    static final String POSITION = "bbbBbbb/......./......./......./......./......./rrrRrrr b Boar,Crab Tiger,Ox Eel";
+
+    private Game game; // The game in the start position
+    private BitBoard bitBoard; // The start position as a BitBoard
+    private Move move; // A legal move in the start position
+    private int[] moves; // Reused move buffer
+    private SplittableRandom random; // Seeded, so that every run plays the same playouts
+
+    @Setup(Level.Trial)
+    public void setup() {
+        game = new Game(BitBoard.fromPositionString(POSITION));
+        bitBoard = game.toBitBoard();
+        move = Board.getPossibleMoves(game).get(0);
+        moves = new int[BitBoard.MAX_MOVES];
+        random = new SplittableRandom(1);
+    }
+
+    /**
+     * A fresh copy of the start position for the playouts, whose length
+     * dwarfs the cost of the per-invocation setup.
+     */
+    @State(Scope.Thread)
+    public static class FreshGame {
+
+        Game game;
+        Move move;
+
+        @Setup(Level.Invocation)
+        public void setup(LogicBenchmark benchmark) {
+            game = benchmark.game.clone();
+            move = benchmark.move.getEquivalentMove(game);
+        }
+    }
+
+    /**
+     * Fresh copies of the start position for a batch of turns. A single turn
+     * is too short for a per-invocation setup, so the copies are made once
+     * per iteration and each invocation of the batch plays on its own copy.
+     */
+    @State(Scope.Thread)
+    public static class FreshGames {
+
+        static final int BATCH = 10000; // Turns played per measured iteration
+
+        Game[] games;
+        Move[] moves;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setup(LogicBenchmark benchmark) {
+            games = new Game[BATCH];
+            moves = new Move[BATCH];
+            for (int i = 0; i < BATCH; i++) {
+                games[i] = benchmark.game.clone();
+                moves[i] = benchmark.move.getEquivalentMove(games[i]);
+            }
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public List<Move> boardGetPossibleMoves() {
+        return Board.getPossibleMoves(game);
+    }
+
+    @Benchmark
+    public int boardGetPossibleMovesBuffer() {
+        return Board.getPossibleMoves(game, moves);
+    }
+
+    @Benchmark
+    public int bitBoardGetPossibleMoves() {
+        return bitBoard.getPossibleMoves(moves);
+    }
+
+    @Benchmark
+    public Game gameClone() {
+        return game.clone();
+    }
+
+    /**
+     * One turn on each of the fresh games; the score is the time of the
+     * whole batch of {@link FreshGames#BATCH} turns.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 10, batchSize = FreshGames.BATCH)
+    @Measurement(iterations = 20, batchSize = FreshGames.BATCH)
+    public Game gamePlayTurn(FreshGames fresh) {
+        Game turnGame = fresh.games[fresh.next];
+        turnGame.playTurn(fresh.moves[fresh.next++]);
+        return turnGame;
+    }
+
+    @Benchmark
+    public long gameMakeUnmakeMove() {
+        UndoRecord undo = game.makeMove(move);
+        game.unmakeMove(undo);
+        return game.getZobristKey();
+    }
+
+    /**
+     * A random playout to the end of the game as in MCTSlightPlayer.simulate.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Color randomPlayout(FreshGame fresh) {
+        Game tempGame = fresh.game;
+        while (!tempGame.isGameOver()) {
+            int moveCount = Board.getPossibleMoves(tempGame, moves);
+            if (moveCount == 0) {
+                List<Card> cards = tempGame.getCurrentPlayer().getCards();
+                tempGame.makePass(cards.get(random.nextInt(cards.size())));
+                continue;
+            }
+            tempGame.makeMove(Move.fromPacked(tempGame, moves[random.nextInt(moveCount)]));
+        }
+        return tempGame.getStatistics().getWinner().getColor();
+    }
+
+    /**
+     * The same random playout on a BitBoard.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int bitBoardRandomPlayout() {
+        BitBoard position = new BitBoard(bitBoard);
+        while (!position.isGameOver()) {
+            int moveCount = position.getPossibleMoves(moves);
+            position.play(moves[random.nextInt(moveCount)]);
+        }
+        return position.getWinner();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Game;
+import com.example.logic.Move;
+import com.example.players.AggressivePlayer;
+import com.example.players.MCTSheavyPlayer;
+import com.example.players.SearchBudget;
+
+/**
+ * Benchmarks of the players' move selection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerBenchmark {
+
+    private static final int SEARCH_ITERATIONS = 1000; // Iterations of the fixed-budget MCTS search
+
+    private Game game; // The game in the start position
+    private AggressivePlayer aggressivePlayer; // The player to move, playing aggressively
+
+    @Setup(Level.Trial)
+    public void setup() {
+        game = new Game(BitBoard.fromPositionString(LogicBenchmark.POSITION));
+        aggressivePlayer = new AggressivePlayer("BLUE", game.getCurrentPlayer().getColor());
+    }
+
+    @Benchmark
+    public Move aggressivePlayerMove() {
+        return aggressivePlayer.move(game);
+    }
+
+    /**
+     * One MCTSheavyPlayer search with a fixed number of iterations. A new
+     * player is used for every search, so the transposition table starts
+     * empty each time.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Move heavySearch() {
+        return new MCTSheavyPlayer("BLUE", game.getCurrentPlayer().getColor(),
+                SearchBudget.iterations(SEARCH_ITERATIONS)).move(game);
+    }
+}
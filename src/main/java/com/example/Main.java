@@ -1,58 +1,55 @@
 package com.example;
 
-import com.example.logic.Color;
-import com.example.logic.Game; // Import the Color enum from the logic package
-import com.example.logic.Statistics; // Import the Game class from the logic package
+import java.util.SplittableRandom;
+
+import com.example.logic.ConsoleGameListener;
+import com.example.logic.Game;
+import com.example.logic.Histogram;
+import com.example.logic.Statistics;
+import com.example.players.MCTSheavyPlayer;
+import com.example.players.MCTSlightPlayer;
+import com.example.tournament.Sprt;
+import com.example.tournament.Tournament;
+import com.example.tournament.TournamentResult;
 
 /**
  * The Main class serves as the entry point for the Onitama game application. It
- * initializes a new Game instance and starts the game.
+ * plays games between the AI players and prints their statistics.
  */
 public class Main {
 
     /**
-     * The entry point for the Onitama game application.
+     * The entry point for the Onitama game application. Plays a tournament
+     * between the light and the heavy MCTS player on all cores, or a single
+     * game printed to the console if "--verbose" is given.
      *
      * @param args
      */
     public static void main(String[] args) {
 
-        // final int NUM_GAMES = 500; // Number of games to play
-        final int hours = 1; // Time limit in hours
-        final int TIME = 10 * 60 * 1000; // Time limit in milliseconds
-        Game game;
-        Statistics statistics = new Statistics();
-        int gamesPlayed = 0;
-        int winsPlayerBlue = 0;
-        int winsPlayerRed = 0;
-        long startTime = System.currentTimeMillis();
-        //for (int i = 0; i < NUM_GAMES; i++) {
-        while (System.currentTimeMillis() - startTime < TIME) {
-            gamesPlayed++;
-            game = new Game(); // Create a new game instance
+        final int MAX_GAMES = 1000; // Maximum number of games, fewer if the SPRT decides earlier
+        final Sprt SPRT = new Sprt(0, 50, 0.05, 0.05); // Is the light player 50 Elo stronger than the heavy player?
+        final int THREADS = Runtime.getRuntime().availableProcessors(); // Number of games played at the same time
+        final boolean verbose = args.length > 0 && args[0].equals("--verbose"); // Print every turn
+        if (verbose) {
+            // A single game with every turn printed to the console
+            Game game = new Game(); // Create a new game instance
+            game.setListener(new ConsoleGameListener());
             game.start(); // Start the game
-            if (game.getStatistics().getWinner().getColor() == Color.BLUE) {
-                winsPlayerBlue++;
-            } else {
-                winsPlayerRed++;
-            }
-            statistics.setPossibleMoves(((statistics.getPossibleMoves() * statistics.getTotalMoves())
-                    + (game.getStatistics().getPossibleMoves() * game.getStatistics().getTotalMoves()))
-                    / (statistics.getTotalMoves() + game.getStatistics().getTotalMoves()));
-            statistics.setTotalMoves(statistics.getTotalMoves() + game.getStatistics().getTotalMoves());
-            statistics.setTotalTurns(statistics.getTotalTurns() + game.getStatistics().getTotalTurns());
-            statistics.setBlueMasterMoves(statistics.getBlueMasterMoves() + game.getStatistics().getBlueMasterMoves());
-            statistics.setRedMasterMoves(statistics.getRedMasterMoves() + game.getStatistics().getRedMasterMoves());
-            statistics.setCapturedBluePieces(statistics.getCapturedBluePieces() + game.getStatistics().getCapturedBluePieces());
-            statistics.setCapturedRedPieces(statistics.getCapturedRedPieces() + game.getStatistics().getCapturedRedPieces());
-            statistics.setBlueMasterCaptures(statistics.getBlueMasterCaptures() + game.getStatistics().getBlueMasterCaptures());
-            statistics.setRedMasterCaptures(statistics.getRedMasterCaptures() + game.getStatistics().getRedMasterCaptures());
-            statistics.setBlueTempleReached(statistics.getBlueTempleReached() + game.getStatistics().getBlueTempleReached());
-            statistics.setRedTempleReached(statistics.getRedTempleReached() + game.getStatistics().getRedTempleReached());
-            statistics.setStartingPlayerWins(statistics.getStartingPlayerWins() + game.getStatistics().getStartingPlayerWins());
-            statistics.setStartingPlayerLosses(statistics.getStartingPlayerLosses() + game.getStatistics().getStartingPlayerLosses());
+            return;
         }
-        System.out.println("Simulation results (Games played: " + gamesPlayed + "):");
+        Tournament tournament = new Tournament(MCTSlightPlayer::new, MCTSheavyPlayer::new, THREADS);
+        TournamentResult result = tournament.run(MAX_GAMES, new SplittableRandom().nextLong(), SPRT);
+        Statistics statistics = result.getStatistics();
+        int gamesPlayed = result.getGames();
+        int winsPlayerBlue = result.getBlueWins();
+        int winsPlayerRed = result.getRedWins();
+        System.out.println("Simulation results (Games played: " + gamesPlayed + ", failed: " + result.getErrors() + "):");
+        System.out.printf("MCTSlight wins:                          %d (%.2f%%)  | MCTSheavy wins:               %d (%.2f%%)\n",
+                result.getFirstWins(), (double) result.getFirstWins() / gamesPlayed * 100,
+                result.getSecondWins(), (double) result.getSecondWins() / gamesPlayed * 100);
+        System.out.printf("Elo difference (MCTSlight - MCTSheavy):  %+.1f +/- %.1f (95%%)  | %s: %s\n",
+                result.getEloDifference(), result.getEloErrorMargin(), SPRT, result.getStatus());
         System.out.printf("Average number of possible moves:        %.2f\n",
                 statistics.getPossibleMoves());
         // System.out.println("BLUE C value:                            0.25          |                RED C value: 0.5");
@@ -78,6 +75,11 @@ public class Main {
         System.out.printf("Average number of moves:                %.2f         | Average number of turns:                 %.2f\n",
                 (double) statistics.getTotalMoves() / gamesPlayed,
                 (double) statistics.getTotalTurns() / gamesPlayed);
+        Histogram moves = result.getAccumulator().getMovesPerGame();
+        Histogram duration = result.getAccumulator().getDuration();
+        System.out.printf("Moves per game (median / 90%% / max):     %d / %d / %d    | Game duration in s (median / 90%% / max): %.1f / %.1f / %.1f\n",
+                moves.getPercentile(50), moves.getPercentile(90), moves.getMax(),
+                duration.getPercentile(50) / 1000.0, duration.getPercentile(90) / 1000.0, duration.getMax() / 1000.0);
         System.out.printf("Total starting player wins:              %d (%.2f%%)  | Total starting player losses:            %d (%.2f%%)\n",
                 statistics.getStartingPlayerWins(),
                 (double) statistics.getStartingPlayerWins() / gamesPlayed * 100,
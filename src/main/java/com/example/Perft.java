@@ -0,0 +1,190 @@
+package com.example;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Board;
+import com.example.logic.Card;
+import com.example.logic.Game;
+import com.example.logic.Move;
+import com.example.logic.UndoRecord;
+
+/**
+ * Counts the leaf nodes of the game tree up to a fixed depth ("perft") with
+ * both the object based game logic ({@link Board#getPossibleMoves(Game)} and
+ * {@link Game#makeMove(Move)}) and the {@link BitBoard} engine. The counts
+ * have to match, and the time taken gives a nodes per second figure for the
+ * move generation.
+ *
+ * Usage: {@code Perft <depth> [position]}, where position is a string as
+ * created by {@link BitBoard#toPositionString()}. Without a position a new
+ * game with random cards is used and its position is printed.
+ */
+public class Perft {
+
+    /**
+     * Runs perft on both engines and prints the node count per root move.
+     *
+     * @param args the depth and optionally the position
+     */
+    public static void main(String[] args) {
+        int depth = args.length < 1 ? 0 : Integer.parseInt(args[0]);
+        if (depth < 1) {
+            System.out.println("Usage: Perft <depth> [position]");
+            return;
+        }
+        BitBoard bitBoard = args.length > 1
+                ? BitBoard.fromPositionString(String.join(" ", List.of(args).subList(1, args.length)))
+                : new Game().toBitBoard();
+        System.out.println("Position: " + bitBoard.toPositionString());
+        System.out.print(bitBoard);
+
+        Map<String, Long> bitBoardDivide = new TreeMap<>();
+        long start = System.nanoTime();
+        long bitBoardNodes = divide(bitBoard, depth, bitBoardDivide);
+        long bitBoardTime = System.nanoTime() - start;
+
+        Map<String, Long> gameDivide = new TreeMap<>();
+        start = System.nanoTime();
+        long gameNodes = divide(new Game(bitBoard), depth, gameDivide);
+        long gameTime = System.nanoTime() - start;
+
+        boolean mismatch = false;
+        System.out.printf("%-20s %15s %15s%n", "Move", "BitBoard", "Game");
+        for (String move : bitBoardDivide.keySet()) {
+            Long gameCount = gameDivide.get(move);
+            boolean equal = bitBoardDivide.get(move).equals(gameCount);
+            mismatch |= !equal;
+            System.out.printf("%-20s %15d %15s%s%n", move, bitBoardDivide.get(move), gameCount,
+                    equal ? "" : "  <-- mismatch");
+        }
+        for (String move : gameDivide.keySet()) {
+            if (!bitBoardDivide.containsKey(move)) {
+                mismatch = true;
+                System.out.printf("%-20s %15s %15d  <-- mismatch%n", move, null, gameDivide.get(move));
+            }
+        }
+        System.out.printf("BitBoard: %d nodes in %.1f ms (%.0f nodes/s)%n", bitBoardNodes, bitBoardTime / 1e6,
+                bitBoardNodes / (bitBoardTime / 1e9));
+        System.out.printf("Game:     %d nodes in %.1f ms (%.0f nodes/s)%n", gameNodes, gameTime / 1e6,
+                gameNodes / (gameTime / 1e9));
+        if (mismatch || bitBoardNodes != gameNodes) {
+            System.out.println("Node counts differ!");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Counts the leaf nodes at the given depth with the BitBoard engine.
+     *
+     * @param bitBoard the position
+     * @param depth the depth
+     * @return the number of leaf nodes
+     */
+    public static long perft(BitBoard bitBoard, int depth) {
+        BitBoard[] positions = new BitBoard[depth + 1];
+        int[][] moves = new int[depth + 1][BitBoard.MAX_MOVES];
+        for (int i = 0; i <= depth; i++) {
+            positions[i] = new BitBoard();
+        }
+        positions[depth].copyFrom(bitBoard);
+        return perft(positions, moves, depth);
+    }
+
+    private static long perft(BitBoard[] positions, int[][] moves, int depth) {
+        BitBoard position = positions[depth];
+        if (depth == 0) {
+            return 1;
+        }
+        int count = position.getPossibleMoves(moves[depth]);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        BitBoard child = positions[depth - 1];
+        for (int i = 0; i < count; i++) {
+            child.copyFrom(position);
+            child.play(moves[depth][i]);
+            nodes += perft(positions, moves, depth - 1);
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes at the given depth with the object based game
+     * logic. The game is restored afterwards.
+     *
+     * @param game the game
+     * @param depth the depth
+     * @return the number of leaf nodes
+     */
+    public static long perft(Game game, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (game.isGameOver()) {
+            return 0;
+        }
+        List<Move> moves = Board.getPossibleMoves(game);
+        if (moves.isEmpty()) {
+            // No piece can move, so the player passes with either card
+            long nodes = 0;
+            for (Card card : List.copyOf(game.getCurrentPlayer().getCards())) {
+                UndoRecord undo = game.makePass(card);
+                nodes += perft(game, depth - 1);
+                game.unmakeMove(undo);
+            }
+            return nodes;
+        }
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (Move move : moves) {
+            UndoRecord undo = game.makeMove(move);
+            nodes += perft(game, depth - 1);
+            game.unmakeMove(undo);
+        }
+        return nodes;
+    }
+
+    private static long divide(BitBoard bitBoard, int depth, Map<String, Long> divide) {
+        long nodes = 0;
+        for (int move : bitBoard.getPossibleMoves()) {
+            BitBoard child = new BitBoard(bitBoard);
+            child.play(move);
+            long count = perft(child, depth - 1);
+            divide.put(BitBoard.moveToString(move), count);
+            nodes += count;
+        }
+        return nodes;
+    }
+
+    private static long divide(Game game, int depth, Map<String, Long> divide) {
+        if (game.isGameOver()) {
+            return 0;
+        }
+        long nodes = 0;
+        List<Move> moves = Board.getPossibleMoves(game);
+        for (Move move : moves) {
+            String name = BitBoard.moveToString(move.toPacked());
+            UndoRecord undo = game.makeMove(move);
+            long count = perft(game, depth - 1);
+            game.unmakeMove(undo);
+            divide.put(name, count);
+            nodes += count;
+        }
+        if (moves.isEmpty()) {
+            for (Card card : List.copyOf(game.getCurrentPlayer().getCards())) {
+                UndoRecord undo = game.makePass(card);
+                long count = perft(game, depth - 1);
+                game.unmakeMove(undo);
+                divide.put(card.getName() + " pass", count);
+                nodes += count;
+            }
+        }
+        return nodes;
+    }
+}
@@ -20,11 +20,21 @@ import com.example.logic.Game;
 import com.example.logic.Move;
 import com.example.logic.Piece;
 import com.example.logic.Tile;
+import com.example.players.AlphaBetaPlayer;
 import com.example.players.MCTSheavyPlayer;
 import com.example.players.MCTSlightPlayer;
+import com.example.players.MCTSravePlayer;
+import com.example.players.Player;
+import com.example.players.SearchBudget;
+import com.example.tournament.Elo;
+import com.example.tournament.Sprt;
 
 public class GameStarter {
 
+    private static final Sprt SPRT = new Sprt(-50, 50, 0.05, 0.05); // Stops a pairing once one agent is clearly stronger
+    private static final int MOVE_TIME = 2000; // Time per move of Konrad in milliseconds
+    private static final int SEARCH_THREADS = Runtime.getRuntime().availableProcessors(); // One game at a time, so Konrad may use all cores
+
     private final RestTemplate restTemplate;
     private final String baseUrl = "http://localhost:8080/konradGames";
     private boolean gameIsRunning;
@@ -33,6 +43,7 @@ public class GameStarter {
     private Color playerColor;
     private String KonradAiType;
     private String PhilAiType;
+    private Player konradPlayer;  // Kept for the whole game so that it can reuse its search tree
 
     public GameStarter() {
         this.restTemplate = new RestTemplate();
@@ -59,7 +70,11 @@ public class GameStarter {
         this.PhilAiType = PhilAiType;
         this.KonradAiType = KonradAiType;
         initializeGame();
-        return run();
+        try {
+            return run();
+        } finally {
+            konradPlayer.close();  // Stops the search threads of the player
+        }
     }
 
     public void runGames(long duration, String PhilAiType, String KonradAiType) {
@@ -76,6 +91,9 @@ public class GameStarter {
             writer.write("Starting with agents: " + PhilAiType + " and " + KonradAiType
                     + duration / 1000 / 60 + "min");
             writer.newLine();
+            // The games are not paired with swapped colors as in Tournament, so the SPRT counts single games
+            writer.write("Note: " + KonradAiType + " always plays blue, so the Elo and the SPRT include the advantage of blue");
+            writer.newLine();
             // while (System.currentTimeMillis() - startTime < duration) {
             while (System.currentTimeMillis() - startTime < duration) {
                 ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
@@ -106,14 +124,23 @@ public class GameStarter {
                     }
                     overallMatches++;
 
+                    // Konrad plays blue
                     String summary = "Red wins: " + redwins + ", Blue wins: " + bluewins + ", Avg Duration: "
                             + gameDurations / overallMatches
                             + ", Avg. Temple Wins: " + templeWins / overallMatches
-                            + ", Aborted Matches: " + abortedMatches;
+                            + ", Aborted Matches: " + abortedMatches
+                            + ", Elo (" + KonradAiType + " - " + PhilAiType + "): " + Elo.format(bluewins, redwins);
                     System.out.println(summary);
                     writer.write(summary);
                     writer.newLine();
                     writer.newLine();
+                    Sprt.Status status = SPRT.getStatus(bluewins, redwins);
+                    if (status != Sprt.Status.CONTINUE) {
+                        writer.write(SPRT + ": " + status + " after " + (bluewins + redwins) + " games, "
+                                + KonradAiType + " playing blue");
+                        writer.newLine();
+                        break;
+                    }
                 } catch (TimeoutException e) {
                     // Match took too long, so we cancel the task and move to the next one
                     future.cancel(true);
@@ -162,6 +189,15 @@ public class GameStarter {
     public void initializeGame() {
         // http://<your-server-address>/createGameKonrad?cards=card1&cards=card2&cards=card3&cards=card4&cards=card5
         this.game = new Game();
+        if ("light".equals(KonradAiType)) {
+            this.konradPlayer = new MCTSlightPlayer("BLUE", Color.BLUE);
+        } else if ("alphabeta".equals(KonradAiType)) {
+            this.konradPlayer = new AlphaBetaPlayer("BLUE", Color.BLUE, SearchBudget.time(MOVE_TIME), SEARCH_THREADS);
+        } else if ("rave".equals(KonradAiType)) {
+            this.konradPlayer = new MCTSravePlayer("BLUE", Color.BLUE);
+        } else {
+            this.konradPlayer = new MCTSheavyPlayer("BLUE", Color.BLUE);
+        }
         StringBuilder cards = new StringBuilder();
         for (int i = 0; i < game.getPlayerBlue().getCards().size(); i++) {
             cards.append("cards=").append(game.getPlayerBlue().getCards().get(i).getName()).append("&");
@@ -198,12 +234,7 @@ public class GameStarter {
                 if (checkIfMyTurn()) {
                     KonradMoveObject state = getLatestMove();
                     if (state == null) {
-                        Move konradsMove;
-                        if (KonradAiType == "light") {
-                            konradsMove = new MCTSlightPlayer("BLUE", Color.BLUE).move(game);
-                        } else {
-                            konradsMove = new MCTSheavyPlayer("BLUE", Color.BLUE).move(game);
-                        }
+                        Move konradsMove = konradPlayer.move(game);
                         game.playTurn(konradsMove);
                         System.out.println(game.getBoard());
                         // Move als KonradStateObject speichern
@@ -224,12 +255,7 @@ public class GameStarter {
                                 origin, target);
                         game.playTurn(philsMove);
                         // Dann Move bauen
-                        Move konradsMove;
-                        if (KonradAiType == "light") {
-                            konradsMove = new MCTSlightPlayer("BLUE", Color.BLUE).move(game);
-                        } else {
-                            konradsMove = new MCTSheavyPlayer("BLUE", Color.BLUE).move(game);
-                        }
+                        Move konradsMove = konradPlayer.move(game);
                         game.playTurn(konradsMove);
                         System.out.println(game.getBoard());
                         // Move als KonradStateObject speichern
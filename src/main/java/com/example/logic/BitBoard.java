@@ -0,0 +1,582 @@
+package com.example.logic;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact representation of an Onitama position. The pieces of each color
+ * are stored as 49-bit occupancy masks in {@code long}s, the cards as their
+ * ids (see {@link Card#getId()}). Copying a BitBoard only copies a handful of
+ * primitives, so it is well suited for search algorithms that need many
+ * positions.
+ *
+ * Squares are numbered {@code x * SIZE + y}, using the same coordinates as
+ * {@link Board#getTile(int, int)}. Moves are packed into a single
+ * {@code int}, see {@link #encodeMove(int, int, int)}.
+ */
+public class BitBoard {
+
+    public static final int SIZE = 7; // The size of the board
+    public static final int SQUARES = SIZE * SIZE; // The number of squares on the board
+    public static final int BLUE = 0; // Index of the blue player
+    public static final int RED = 1; // Index of the red player
+    public static final int NONE = -1; // No player, e.g. no winner yet
+    public static final int BLUE_TEMPLE = square(0, SIZE / 2); // The square of the blue temple
+    public static final int RED_TEMPLE = square(SIZE - 1, SIZE / 2); // The square of the red temple
+    public static final int MAX_MOVES = 64; // Upper bound for the number of moves in a position
+
+    private static final PieceType[] MASTERS = {PieceType.BLUEMASTER, PieceType.REDMASTER}; // Master type per player
+    private static final PieceType[] STUDENTS = {PieceType.BLUESTUDENT, PieceType.REDSTUDENT}; // Student type per player
+
+    private final long[] pieces = new long[2]; // All pieces of each player
+    private final long[] masters = new long[2]; // The master of each player
+    private final int[] cards = new int[4]; // The cards of blue (0, 1) and red (2, 3), each hand sorted by id
+    private int neutralCard; // The neutral card
+    private int sideToMove; // The player to move
+    private int winner = NONE; // The winner, if the game is over
+    private long zobristKey; // Zobrist key of the position, see Zobrist
+
+    /**
+     * Constructs an empty BitBoard.
+     */
+    public BitBoard() {
+    }
+
+    /**
+     * Constructs a new BitBoard by copying the given one.
+     *
+     * @param bitBoard the BitBoard to be copied
+     */
+    public BitBoard(BitBoard bitBoard) {
+        copyFrom(bitBoard);
+    }
+
+    /**
+     * Constructs a new BitBoard from the current state of the given game.
+     *
+     * @param game the game to be converted
+     */
+    public BitBoard(Game game) {
+        copyFrom(game);
+    }
+
+    /**
+     * Overwrites this BitBoard with the current state of the given game
+     * without allocating.
+     *
+     * @param game the game to be converted
+     */
+    public void copyFrom(Game game) {
+        this.pieces[BLUE] = 0;
+        this.pieces[RED] = 0;
+        this.masters[BLUE] = 0;
+        this.masters[RED] = 0;
+        for (Tile[] row : game.getBoard().getTiles()) {
+            for (Tile tile : row) {
+                Piece piece = tile.getPiece();
+                if (piece == null) {
+                    continue;
+                }
+                int color = piece.getColor() == Color.BLUE ? BLUE : RED;
+                long bit = 1L << square(tile.getX(), tile.getY());
+                this.pieces[color] |= bit;
+                if (piece.getType() == PieceType.BLUEMASTER || piece.getType() == PieceType.REDMASTER) {
+                    this.masters[color] |= bit;
+                }
+            }
+        }
+        List<Card> blueCards = game.getPlayerBlue().getCards();
+        List<Card> redCards = game.getPlayerRed().getCards();
+        this.cards[0] = blueCards.get(0).getId();
+        this.cards[1] = blueCards.get(1).getId();
+        this.cards[2] = redCards.get(0).getId();
+        this.cards[3] = redCards.get(1).getId();
+        sortHand(BLUE);
+        sortHand(RED);
+        this.neutralCard = game.getNeutralCard().getId();
+        this.sideToMove = game.getCurrentPlayer().getColor() == Color.BLUE ? BLUE : RED;
+        // The current player is not switched after the winning move
+        this.winner = game.isGameOver() ? this.sideToMove : NONE;
+        this.zobristKey = game.getZobristKey();
+    }
+
+    /**
+     * Overwrites this BitBoard with the given one without allocating.
+     *
+     * @param bitBoard the BitBoard to be copied
+     */
+    public void copyFrom(BitBoard bitBoard) {
+        this.pieces[BLUE] = bitBoard.pieces[BLUE];
+        this.pieces[RED] = bitBoard.pieces[RED];
+        this.masters[BLUE] = bitBoard.masters[BLUE];
+        this.masters[RED] = bitBoard.masters[RED];
+        this.cards[0] = bitBoard.cards[0];
+        this.cards[1] = bitBoard.cards[1];
+        this.cards[2] = bitBoard.cards[2];
+        this.cards[3] = bitBoard.cards[3];
+        this.neutralCard = bitBoard.neutralCard;
+        this.sideToMove = bitBoard.sideToMove;
+        this.winner = bitBoard.winner;
+        this.zobristKey = bitBoard.zobristKey;
+    }
+
+    /**
+     * Returns the square with the given coordinates.
+     *
+     * @param x the x-coordinate of the square
+     * @param y the y-coordinate of the square
+     * @return the square index
+     */
+    public static int square(int x, int y) {
+        return x * SIZE + y;
+    }
+
+    /**
+     * Returns the x-coordinate of the given square.
+     *
+     * @param square the square index
+     * @return the x-coordinate of the square
+     */
+    public static int getX(int square) {
+        return square / SIZE;
+    }
+
+    /**
+     * Returns the y-coordinate of the given square.
+     *
+     * @param square the square index
+     * @return the y-coordinate of the square
+     */
+    public static int getY(int square) {
+        return square % SIZE;
+    }
+
+    /**
+     * Packs a move into a single int. Bits 0-5 hold the origin square, bits
+     * 6-11 the target square and bits 12-15 the id of the card used. A move
+     * whose origin equals its target is a pass, which only exchanges the card.
+     *
+     * @param from the origin square
+     * @param to the target square
+     * @param card the id of the card
+     * @return the packed move
+     */
+    public static int encodeMove(int from, int to, int card) {
+        return from | (to << 6) | (card << 12);
+    }
+
+    /**
+     * Returns the origin square of a packed move.
+     *
+     * @param move the packed move
+     * @return the origin square
+     */
+    public static int moveFrom(int move) {
+        return move & 0x3F;
+    }
+
+    /**
+     * Returns the target square of a packed move.
+     *
+     * @param move the packed move
+     * @return the target square
+     */
+    public static int moveTo(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * Returns the card id of a packed move.
+     *
+     * @param move the packed move
+     * @return the card id
+     */
+    public static int moveCard(int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    /**
+     * Checks whether a packed move is a pass.
+     *
+     * @param move the packed move
+     * @return true if the move only exchanges a card, false otherwise
+     */
+    public static boolean isPass(int move) {
+        return moveFrom(move) == moveTo(move);
+    }
+
+    /**
+     * Returns all possible moves for the player to move. If no piece can
+     * move, one pass per card in hand is returned instead.
+     *
+     * @return the packed moves
+     */
+    public int[] getPossibleMoves() {
+        int[] moves = new int[MAX_MOVES];
+        return Arrays.copyOf(moves, getPossibleMoves(moves));
+    }
+
+    /**
+     * Writes all possible moves for the player to move into the given buffer
+     * without allocating. If no piece can move, one pass per card in hand is
+     * written instead.
+     *
+     * @param moves the buffer for the packed moves, at least
+     * {@link #MAX_MOVES} long
+     * @return the number of moves written
+     */
+    public int getPossibleMoves(int[] moves) {
+        if (this.winner != NONE) {
+            return 0;
+        }
+        int count = 0;
+        long own = this.pieces[this.sideToMove];
+        for (int slot = 0; slot < 2; slot++) {
+            int card = this.cards[this.sideToMove * 2 + slot];
+            for (long bits = own; bits != 0; bits &= bits - 1) {
+                int from = Long.numberOfTrailingZeros(bits);
+                for (long targets = Card.getTargets(card, this.sideToMove, from) & ~own; targets != 0;
+                        targets &= targets - 1) {
+                    moves[count++] = encodeMove(from, Long.numberOfTrailingZeros(targets), card);
+                }
+            }
+        }
+        if (count == 0) {
+            // No piece can move, so the player has to pass and exchange a card
+            int from = Long.numberOfTrailingZeros(own);
+            moves[count++] = encodeMove(from, from, this.cards[this.sideToMove * 2]);
+            moves[count++] = encodeMove(from, from, this.cards[this.sideToMove * 2 + 1]);
+        }
+        return count;
+    }
+
+    /**
+     * Applies a packed move for the player to move. The move is not
+     * validated. After a winning move the player to move is not switched,
+     * matching {@link Game#playTurn(Move)}.
+     *
+     * @param move the packed move
+     */
+    public void play(int move) {
+        int from = moveFrom(move);
+        int to = moveTo(move);
+        int card = moveCard(move);
+        int side = this.sideToMove;
+        int enemy = side ^ 1;
+        if (from != to) {
+            long fromBit = 1L << from;
+            long toBit = 1L << to;
+            if ((this.pieces[enemy] & toBit) != 0) {
+                PieceType captured = (this.masters[enemy] & toBit) != 0 ? MASTERS[enemy] : STUDENTS[enemy];
+                this.zobristKey ^= Zobrist.piece(captured, to);
+                this.pieces[enemy] &= ~toBit;
+                this.masters[enemy] &= ~toBit;
+            }
+            PieceType moved = STUDENTS[side];
+            if ((this.masters[side] & fromBit) != 0) {
+                this.masters[side] = toBit;
+                moved = MASTERS[side];
+            }
+            this.pieces[side] ^= fromBit | toBit;
+            this.zobristKey ^= Zobrist.piece(moved, from) ^ Zobrist.piece(moved, to);
+        }
+        int slot = this.cards[side * 2] == card ? side * 2 : side * 2 + 1;
+        this.zobristKey ^= Zobrist.exchange(side, card, this.neutralCard);
+        this.cards[slot] = this.neutralCard;
+        this.neutralCard = card;
+        sortHand(side);
+        if (hasWon(side)) {
+            this.winner = side;
+            return;
+        }
+        this.sideToMove = enemy;
+        this.zobristKey ^= Zobrist.sideToMove();
+    }
+
+    /**
+     * Keeps the cards of a player ordered by id, so that equal positions have
+     * equal representations regardless of the order the cards were received.
+     *
+     * @param side the player
+     */
+    private void sortHand(int side) {
+        int first = this.cards[side * 2];
+        if (first > this.cards[side * 2 + 1]) {
+            this.cards[side * 2] = this.cards[side * 2 + 1];
+            this.cards[side * 2 + 1] = first;
+        }
+    }
+
+    /**
+     * Checks whether the given player has won, either by capturing the enemy
+     * master or by moving his master onto the enemy temple.
+     *
+     * @param side the player to check
+     * @return true if the player has won, false otherwise
+     */
+    private boolean hasWon(int side) {
+        long enemyTemple = 1L << (side == BLUE ? RED_TEMPLE : BLUE_TEMPLE);
+        return this.masters[side ^ 1] == 0 || (this.masters[side] & enemyTemple) != 0;
+    }
+
+    /**
+     * Returns the pieces of the given player.
+     *
+     * @param side the player
+     * @return the occupancy mask of the player's pieces
+     */
+    public long getPieces(int side) {
+        return this.pieces[side];
+    }
+
+    /**
+     * Returns the master of the given player.
+     *
+     * @param side the player
+     * @return the occupancy mask of the player's master
+     */
+    public long getMaster(int side) {
+        return this.masters[side];
+    }
+
+    /**
+     * Returns a card held by the given player.
+     *
+     * @param side the player
+     * @param slot the slot of the card (0 or 1)
+     * @return the id of the card
+     */
+    public int getCard(int side, int slot) {
+        return this.cards[side * 2 + slot];
+    }
+
+    /**
+     * Returns the neutral card.
+     *
+     * @return the id of the neutral card
+     */
+    public int getNeutralCard() {
+        return this.neutralCard;
+    }
+
+    /**
+     * Returns the player to move.
+     *
+     * @return the player to move
+     */
+    public int getSideToMove() {
+        return this.sideToMove;
+    }
+
+    /**
+     * Returns the winner of the game.
+     *
+     * @return the winner, or {@link #NONE} if the game is not over
+     */
+    public int getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Checks if the game is over.
+     *
+     * @return true if the game is over, false otherwise
+     */
+    public boolean isGameOver() {
+        return this.winner != NONE;
+    }
+
+    /**
+     * Returns the Zobrist key of the position. It matches
+     * {@link Game#getZobristKey()} for the same position.
+     *
+     * @return the Zobrist key
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * Returns the position as a single line, e.g.
+     * {@code bbbBbbb/......./......./......./......./......./rrrRrrr b Boar,Crab Tiger,Ox Eel}.
+     * The rows are listed from x = 0 to 6 with {@code B}/{@code b} for the
+     * blue master and students, {@code R}/{@code r} for red and {@code .}
+     * for empty squares. They are followed by the player to move and the
+     * cards of blue, red and the neutral card.
+     *
+     * @return the position string
+     */
+    public String toPositionString() {
+        StringBuilder sb = new StringBuilder();
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                long bit = 1L << square(x, y);
+                if ((this.masters[BLUE] & bit) != 0) {
+                    sb.append('B');
+                } else if ((this.pieces[BLUE] & bit) != 0) {
+                    sb.append('b');
+                } else if ((this.masters[RED] & bit) != 0) {
+                    sb.append('R');
+                } else if ((this.pieces[RED] & bit) != 0) {
+                    sb.append('r');
+                } else {
+                    sb.append('.');
+                }
+            }
+            sb.append(x < SIZE - 1 ? "/" : " ");
+        }
+        sb.append(this.sideToMove == BLUE ? 'b' : 'r').append(' ');
+        sb.append(Card.getCardById(this.cards[0]).getName()).append(',');
+        sb.append(Card.getCardById(this.cards[1]).getName()).append(' ');
+        sb.append(Card.getCardById(this.cards[2]).getName()).append(',');
+        sb.append(Card.getCardById(this.cards[3]).getName()).append(' ');
+        sb.append(Card.getCardById(this.neutralCard).getName());
+        return sb.toString();
+    }
+
+    /**
+     * Parses a position string created by {@link #toPositionString()}.
+     *
+     * @param position the position string
+     * @return the position
+     * @throws IllegalArgumentException if the string is not a valid position
+     */
+    public static BitBoard fromPositionString(String position) {
+        String[] parts = position.trim().split("\\s+");
+        String[] rows = parts.length == 5 ? parts[0].split("/") : new String[0];
+        if (rows.length != SIZE) {
+            throw new IllegalArgumentException("Invalid position: " + position);
+        }
+        BitBoard bitBoard = new BitBoard();
+        for (int x = 0; x < SIZE; x++) {
+            if (rows[x].length() != SIZE) {
+                throw new IllegalArgumentException("Invalid row: " + rows[x]);
+            }
+            for (int y = 0; y < SIZE; y++) {
+                long bit = 1L << square(x, y);
+                switch (rows[x].charAt(y)) {
+                    case 'B' -> {
+                        bitBoard.pieces[BLUE] |= bit;
+                        bitBoard.masters[BLUE] |= bit;
+                    }
+                    case 'b' ->
+                        bitBoard.pieces[BLUE] |= bit;
+                    case 'R' -> {
+                        bitBoard.pieces[RED] |= bit;
+                        bitBoard.masters[RED] |= bit;
+                    }
+                    case 'r' ->
+                        bitBoard.pieces[RED] |= bit;
+                    case '.' -> {
+                    }
+                    default ->
+                        throw new IllegalArgumentException("Invalid square: " + rows[x].charAt(y));
+                }
+            }
+        }
+        bitBoard.sideToMove = parts[1].equals("r") ? RED : BLUE;
+        String[] blueCards = parts[2].split(",");
+        String[] redCards = parts[3].split(",");
+        if (blueCards.length != 2 || redCards.length != 2) {
+            throw new IllegalArgumentException("Invalid cards: " + position);
+        }
+        bitBoard.cards[0] = cardId(blueCards[0]);
+        bitBoard.cards[1] = cardId(blueCards[1]);
+        bitBoard.cards[2] = cardId(redCards[0]);
+        bitBoard.cards[3] = cardId(redCards[1]);
+        bitBoard.neutralCard = cardId(parts[4]);
+        bitBoard.sortHand(BLUE);
+        bitBoard.sortHand(RED);
+        if (bitBoard.hasWon(bitBoard.sideToMove)) {
+            bitBoard.winner = bitBoard.sideToMove;
+        }
+        bitBoard.zobristKey = Zobrist.hash(bitBoard);
+        return bitBoard;
+    }
+
+    /**
+     * Returns the id of the card with the given name.
+     *
+     * @param name the name of the card
+     * @return the id of the card
+     * @throws IllegalArgumentException if there is no such card
+     */
+    private static int cardId(String name) {
+        for (int id = 0; id < Card.getDeckSize(); id++) {
+            if (Card.getCardById(id).getName().equalsIgnoreCase(name)) {
+                return id;
+            }
+        }
+        throw new IllegalArgumentException("Unknown card: " + name);
+    }
+
+    /**
+     * Returns a readable representation of a packed move, e.g.
+     * {@code Boar 0,2-1,2} or {@code Boar pass}.
+     *
+     * @param move the packed move
+     * @return the move as a string
+     */
+    public static String moveToString(int move) {
+        String card = Card.getCardById(moveCard(move)).getName();
+        if (isPass(move)) {
+            return card + " pass";
+        }
+        return card + " " + getX(moveFrom(move)) + "," + getY(moveFrom(move))
+                + "-" + getX(moveTo(move)) + "," + getY(moveTo(move));
+    }
+
+    /**
+     * Returns a string representation of the board in the same format as
+     * {@link Board#toString()}.
+     *
+     * @return The string representation of the board.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int x = SIZE - 1; x >= 0; x--) {
+            for (int y = 0; y < SIZE; y++) {
+                long bit = 1L << square(x, y);
+                if ((this.masters[BLUE] & bit) != 0) {
+                    sb.append("BM");
+                } else if ((this.pieces[BLUE] & bit) != 0) {
+                    sb.append("BS");
+                } else if ((this.masters[RED] & bit) != 0) {
+                    sb.append("RM");
+                } else if ((this.pieces[RED] & bit) != 0) {
+                    sb.append("RS");
+                } else {
+                    sb.append("  ");
+                }
+                sb.append(" ");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        BitBoard other = (BitBoard) obj;
+        return Arrays.equals(this.pieces, other.pieces) && Arrays.equals(this.masters, other.masters)
+                && Arrays.equals(this.cards, other.cards) && this.neutralCard == other.neutralCard
+                && this.sideToMove == other.sideToMove && this.winner == other.winner;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(this.pieces);
+        result = 31 * result + Arrays.hashCode(this.masters);
+        result = 31 * result + Arrays.hashCode(this.cards);
+        result = 31 * result + this.neutralCard;
+        result = 31 * result + this.sideToMove;
+        return result;
+    }
+}
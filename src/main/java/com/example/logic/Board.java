@@ -101,25 +101,66 @@ public class Board {
      */
     public static List<Move> getPossibleMoves(Game game) {
         List<Move> possibleMoves = new ArrayList<>();
-        for (Piece piece : game.getCurrentPlayer().getPieces()) {
-            for (Card card : game.getCurrentPlayer().getCardsCopy()) {
-                for (int[] movement : card.getMovementsCopy()) {
-                    if (game.getCurrentPlayer().getColor() == Color.RED) {
-                        movement[0] *= -1;
-                        movement[1] *= -1;
-                    }
-                    if (isValidMove(game, piece, card, movement)) {
-                        possibleMoves.add(new Move(card, piece, movement, piece.getTile(),
-                                game.getBoard().getTile(
-                                        piece.getTile().getX() + movement[0], piece.getTile().getY() + movement[1])));
-                        // Add the move to the list of possible moves
+        Player player = game.getCurrentPlayer();
+        Board board = game.getBoard();
+        int side = player.getColor() == Color.BLUE ? BitBoard.BLUE : BitBoard.RED;
+        for (Piece piece : player.getPieces()) {
+            Tile origin = piece.getTile();
+            int from = BitBoard.square(origin.getX(), origin.getY());
+            for (Card card : player.getCards()) {
+                long targets = Card.getTargets(card.getId(), side, from);
+                for (; targets != 0; targets &= targets - 1) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    Tile target = board.tiles[BitBoard.getX(to)][BitBoard.getY(to)];
+                    if (target.getPiece() != null && target.getPiece().getColor() == player.getColor()) {
+                        continue;
                     }
+                    int[] movement = new int[]{target.getX() - origin.getX(), target.getY() - origin.getY()};
+                    possibleMoves.add(new Move(card, piece, movement, origin, target));
+                    // Add the move to the list of possible moves
                 }
             }
         }
         return possibleMoves; // Return the list of possible moves
     }
 
+    /**
+     * Writes all possible moves for the current player in the given game into
+     * the given buffer as packed ints (see
+     * {@link BitBoard#encodeMove(int, int, int)}). Unlike
+     * {@link #getPossibleMoves(Game)} this does not allocate, so it is meant
+     * for playouts. Use {@link Move#fromPacked(Game, int)} to turn the chosen
+     * move into a Move.
+     *
+     * @param game the game
+     * @param moves the buffer for the packed moves, at least
+     * {@link BitBoard#MAX_MOVES} long
+     * @return the number of moves written
+     */
+    public static int getPossibleMoves(Game game, int[] moves) {
+        Player player = game.getCurrentPlayer();
+        Tile[][] tiles = game.getBoard().tiles;
+        int side = player.getColor() == Color.BLUE ? BitBoard.BLUE : BitBoard.RED;
+        List<Piece> pieces = player.getPieces();
+        List<Card> cards = player.getCards();
+        int count = 0;
+        for (int p = 0; p < pieces.size(); p++) {
+            Tile origin = pieces.get(p).getTile();
+            int from = BitBoard.square(origin.getX(), origin.getY());
+            for (int c = 0; c < cards.size(); c++) {
+                int card = cards.get(c).getId();
+                for (long targets = Card.getTargets(card, side, from); targets != 0; targets &= targets - 1) {
+                    int to = Long.numberOfTrailingZeros(targets);
+                    Piece targetPiece = tiles[BitBoard.getX(to)][BitBoard.getY(to)].getPiece();
+                    if (targetPiece == null || targetPiece.getColor() != player.getColor()) {
+                        moves[count++] = BitBoard.encodeMove(from, to, card);
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Checks if a movement is valid in the given game.
      *
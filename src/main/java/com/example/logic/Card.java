@@ -13,6 +13,10 @@ public class Card {
     private final String name; // Name of the card
     private final List<int[]> movements; // List of possible movements for the card
     private final Color color; // Color of the card
+    private int id = -1; // Cached position of the card in the deck
+
+    private static final List<Card> DECK = List.copyOf(initializeCards()); // The full deck, indexed by card id
+    private static final long[] TARGETS = initializeTargets(); // Target masks per card, player and square
 
     /**
      * Creates a new Card with the given name, movements, and color.
@@ -55,6 +59,86 @@ public class Card {
         return cards;
     }
 
+    /**
+     * Precomputes the target squares of every card for both players and every
+     * origin square. Entry {@code (card * 2 + side) * BitBoard.SQUARES + square}
+     * holds a mask of all squares on the board that can be reached from
+     * {@code square}, with the movements already mirrored for red.
+     *
+     * @return the table of target masks
+     */
+    private static long[] initializeTargets() {
+        long[] targets = new long[DECK.size() * 2 * BitBoard.SQUARES];
+        for (int card = 0; card < DECK.size(); card++) {
+            for (int side = BitBoard.BLUE; side <= BitBoard.RED; side++) {
+                int sign = side == BitBoard.BLUE ? 1 : -1;
+                for (int square = 0; square < BitBoard.SQUARES; square++) {
+                    long mask = 0;
+                    for (int[] movement : DECK.get(card).movements) {
+                        int x = BitBoard.getX(square) + movement[0] * sign;
+                        int y = BitBoard.getY(square) + movement[1] * sign;
+                        if (x >= 0 && x < BitBoard.SIZE && y >= 0 && y < BitBoard.SIZE) {
+                            mask |= 1L << BitBoard.square(x, y);
+                        }
+                    }
+                    targets[(card * 2 + side) * BitBoard.SQUARES + square] = mask;
+                }
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Returns all squares that can be reached from the given square with the
+     * given card, ignoring the pieces on the board.
+     *
+     * @param card the id of the card
+     * @param side the player using the card, {@link BitBoard#BLUE} or
+     * {@link BitBoard#RED}
+     * @param square the origin square
+     * @return the mask of target squares
+     */
+    public static long getTargets(int card, int side, int square) {
+        return TARGETS[(card * 2 + side) * BitBoard.SQUARES + square];
+    }
+
+    /**
+     * Returns the card with the given id.
+     *
+     * @param id the id of the card, as returned by {@link #getId()}
+     * @return the card with the given id
+     */
+    public static Card getCardById(int id) {
+        return DECK.get(id);
+    }
+
+    /**
+     * Returns the number of cards in the deck.
+     *
+     * @return the number of cards in the deck
+     */
+    public static int getDeckSize() {
+        return DECK.size();
+    }
+
+    /**
+     * Returns the id of the card, which is its position in the list returned
+     * by {@link #initializeCards()}.
+     *
+     * @return the id of the card
+     */
+    public int getId() {
+        if (this.id < 0) {
+            for (int i = 0; i < DECK.size(); i++) {
+                if (DECK.get(i).name.equals(this.name)) {
+                    this.id = i;
+                    break;
+                }
+            }
+        }
+        return this.id;
+    }
+
     /**
      * Returns the name of the card.
      *
@@ -120,4 +204,9 @@ public class Card {
         Card card = (Card) obj;
         return name.equals(card.name);
     }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
 }
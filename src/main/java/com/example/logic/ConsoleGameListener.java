@@ -0,0 +1,27 @@
+package com.example.logic;
+
+import com.example.players.Player;
+
+/**
+ * Prints the board before every turn, skipped turns and the winner to the
+ * console, for interactive games.
+ */
+public class ConsoleGameListener implements GameListener {
+
+    @Override
+    public void turnStarted(Game game) {
+        System.out.print(game.getBoard());
+        // Print current player's turn
+        System.out.println(game.getCurrentPlayer().getName() + "'s turn.");
+    }
+
+    @Override
+    public void turnSkipped(Game game, Card card) {
+        System.out.println("No moves available. Skipping turn.");
+    }
+
+    @Override
+    public void gameOver(Game game, Player winner) {
+        System.out.println("Game over. Winner: " + winner.getName());
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.logic;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 import com.example.players.MCTSheavyPlayer;
 import com.example.players.MCTSlightPlayer;
@@ -21,17 +22,74 @@ public class Game {
     private Statistics statistics;      // The game statistics
     private Player startingPlayer;      // The starting player
     private boolean gameOver;           // Flag to indicate if the game is over
+    private long zobristKey;            // Zobrist key of the current position
+    private SplittableRandom random;    // Source of the random decisions of the game
+    private final long copySeed;        // Seed of the generator of every copy, so that copying leaves random unchanged
+    private GameListener listener = GameListener.SILENT; // Observes the turns of the game
 
     /**
      * Initializes a new instance of the Game class.
      */
     public Game() {
-        initializePlayers();            // Initialize the players
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Initializes a new instance of the Game class whose cards and random
+     * decisions, including those of its players, are determined by the seed.
+     *
+     * @param seed the seed of the random generator
+     */
+    public Game(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Initializes a new instance of the Game class with the given players.
+     * The players must be new, i.e. hold no pieces or cards yet.
+     *
+     * @param playerBlue the blue player
+     * @param playerRed the red player
+     */
+    public Game(Player playerBlue, Player playerRed) {
+        this(new SplittableRandom(), playerBlue, playerRed);
+    }
+
+    /**
+     * Initializes a new instance of the Game class with the given players
+     * whose cards and random decisions, including those of the players, are
+     * determined by the seed.
+     *
+     * @param playerBlue the blue player
+     * @param playerRed the red player
+     * @param seed the seed of the random generator
+     */
+    public Game(Player playerBlue, Player playerRed, long seed) {
+        this(new SplittableRandom(seed), playerBlue, playerRed);
+    }
+
+    private Game(SplittableRandom random) {
+        this(random, new MCTSlightPlayer("BLUE", Color.BLUE), new MCTSheavyPlayer("RED", Color.RED));
+    }
+
+    private Game(SplittableRandom random, Player playerBlue, Player playerRed) {
+        this.random = random;
+        initializePlayers(playerBlue, playerRed);   // Initialize the players
         initializeBoard();              // Initialize the game board
         initializeCards();              // Initialize the cards
         initializeStatistics();         // Initialize the statistics
+        zobristKey = Zobrist.hash(this);
+        copySeed = random.nextLong();
     }
 
+    /**
+     * Initializes a copy of the given game. Copying does not change the
+     * given game: the copy gets a generator derived from a seed the game
+     * drew when it was created, so all copies of a game make the same random
+     * decisions.
+     *
+     * @param game the game to copy
+     */
     public Game(Game game) {
         this.board = game.board.clone();
         this.playerBlue = game.playerBlue.clone();
@@ -41,18 +99,84 @@ public class Game {
         this.statistics = game.statistics.clone();
         this.startingPlayer = game.startingPlayer == game.playerBlue ? this.playerBlue : this.playerRed;
         this.gameOver = game.gameOver;
+        this.zobristKey = game.zobristKey;
+        this.random = new SplittableRandom(game.copySeed);
+        this.copySeed = this.random.nextLong();
         //if (this.gameOver) {
         this.statistics.setWinner(this.currentPlayer);
         this.statistics.setLoser((this.currentPlayer == this.playerBlue) ? this.playerRed : this.playerBlue);
         //}
     }
 
+    /**
+     * Initializes a new instance of the Game class from the given BitBoard.
+     * The player to move is treated as the starting player.
+     *
+     * @param bitBoard the position to be converted
+     */
+    public Game(BitBoard bitBoard) {
+        this.random = new SplittableRandom();
+        this.copySeed = random.nextLong();
+        initializePlayers(new MCTSlightPlayer("BLUE", Color.BLUE), new MCTSheavyPlayer("RED", Color.RED));
+        board = new Board();
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            long bit = 1L << square;
+            PieceType type;
+            Player owner;
+            if ((bitBoard.getMaster(BitBoard.BLUE) & bit) != 0) {
+                type = PieceType.BLUEMASTER;
+                owner = playerBlue;
+            } else if ((bitBoard.getPieces(BitBoard.BLUE) & bit) != 0) {
+                type = PieceType.BLUESTUDENT;
+                owner = playerBlue;
+            } else if ((bitBoard.getMaster(BitBoard.RED) & bit) != 0) {
+                type = PieceType.REDMASTER;
+                owner = playerRed;
+            } else if ((bitBoard.getPieces(BitBoard.RED) & bit) != 0) {
+                type = PieceType.REDSTUDENT;
+                owner = playerRed;
+            } else {
+                continue;
+            }
+            Piece piece = new Piece(type);
+            Tile tile = board.getTile(BitBoard.getX(square), BitBoard.getY(square));
+            piece.setTile(tile);
+            tile.setPiece(piece);
+            owner.getPieces().add(piece);
+        }
+        playerBlue.getCards().add(Card.getCardById(bitBoard.getCard(BitBoard.BLUE, 0)));
+        playerBlue.getCards().add(Card.getCardById(bitBoard.getCard(BitBoard.BLUE, 1)));
+        playerRed.getCards().add(Card.getCardById(bitBoard.getCard(BitBoard.RED, 0)));
+        playerRed.getCards().add(Card.getCardById(bitBoard.getCard(BitBoard.RED, 1)));
+        neutralCard = Card.getCardById(bitBoard.getNeutralCard());
+        currentPlayer = bitBoard.getSideToMove() == BitBoard.BLUE ? playerBlue : playerRed;
+        startingPlayer = currentPlayer;
+        usedCards = List.of(playerBlue.getCards().get(0), playerBlue.getCards().get(1),
+                playerRed.getCards().get(0), playerRed.getCards().get(1), neutralCard);
+        initializeStatistics();
+        gameOver = bitBoard.isGameOver();
+        if (gameOver) {
+            this.statistics.setWinner(currentPlayer);
+            this.statistics.setLoser((currentPlayer == playerBlue) ? playerRed : playerBlue);
+        }
+        zobristKey = Zobrist.hash(this);
+    }
+
     /**
      * Initializes the players of the game.
+     *
+     * @param blue the blue player
+     * @param red the red player
      */
-    private void initializePlayers() {
-        playerBlue = new MCTSlightPlayer("BLUE", Color.BLUE);   // Create Player 1
-        playerRed = new MCTSheavyPlayer("RED", Color.RED);     // Create Player 2
+    private void initializePlayers(Player blue, Player red) {
+        if (blue.getColor() != Color.BLUE || red.getColor() != Color.RED) {
+            throw new IllegalArgumentException("Players must be blue and red, got " + blue.getColor()
+                    + " and " + red.getColor());
+        }
+        playerBlue = blue;   // Player 1
+        playerRed = red;     // Player 2
+        playerBlue.setRandom(random.split());
+        playerRed.setRandom(random.split());
     }
 
     /**
@@ -73,19 +197,19 @@ public class Game {
         List<Card> allCards = Card.initializeCards();
 
         // Distribute two cards to each player and set one as the neutral card
-        Card card1 = allCards.remove((int) (Math.random() * allCards.size()));
-        Card card2 = allCards.remove((int) (Math.random() * allCards.size()));
+        Card card1 = allCards.remove(random.nextInt(allCards.size()));
+        Card card2 = allCards.remove(random.nextInt(allCards.size()));
         playerBlue.getCards().add(card1);
         playerBlue.getCards().add(card2);
         // player1.setCards(new ArrayList<>(Arrays.asList(card1, card2)));
 
-        card1 = allCards.remove((int) (Math.random() * allCards.size()));
-        card2 = allCards.remove((int) (Math.random() * allCards.size()));
+        card1 = allCards.remove(random.nextInt(allCards.size()));
+        card2 = allCards.remove(random.nextInt(allCards.size()));
         playerRed.getCards().add(card1);
         playerRed.getCards().add(card2);
         // player2.setCards(new ArrayList<>(Arrays.asList(card1, card2)));
 
-        neutralCard = allCards.remove((int) (Math.random() * allCards.size()));
+        neutralCard = allCards.remove(random.nextInt(allCards.size()));
         startingPlayer = neutralCard.getColor() == Color.BLUE ? playerBlue : playerRed;
         currentPlayer = startingPlayer;
 
@@ -123,9 +247,7 @@ public class Game {
      * Plays a turn in the game.
      */
     private void playTurn() {
-        System.out.print(this.board);
-        // Print current player's turn
-        System.out.println(currentPlayer.getName() + "'s turn.");
+        listener.turnStarted(this);
 
         this.statistics.increaseTotalMoves();
 
@@ -139,13 +261,11 @@ public class Game {
         this.statistics.setPossibleMoves((statistics.getPossibleMoves() * (statistics.getTotalMoves() - 1) + possibleMoves.size())
                 / statistics.getTotalMoves());
 
-        if (Board.getPossibleMoves(this).isEmpty()) {
-            System.out.println("No moves available. Skipping turn.");
-            Card randomCard = currentPlayer.getCards().get((int) (Math.random() * currentPlayer.getCards().size()));
-            currentPlayer.getCards().remove(randomCard);
-            currentPlayer.getCards().add(neutralCard);
-            neutralCard = randomCard;
+        if (possibleMoves.isEmpty()) {
+            Card randomCard = currentPlayer.getCards().get(random.nextInt(currentPlayer.getCards().size()));
+            exchangeCard(randomCard);
             switchPlayers();
+            listener.turnSkipped(this, randomCard);
             return;
         }
         // Get the current player's move
@@ -185,13 +305,13 @@ public class Game {
                 }
             }
         }
+        hashMove(piece, origin, target);
         origin.setPiece(null);
         target.setPiece(piece);
         piece.setTile(target);
 
-        currentPlayer.getCards().remove(card);
-        currentPlayer.getCards().add(neutralCard);
-        neutralCard = card;
+        exchangeCard(card);
+        listener.movePlayed(this, move);
 
         // System.out.println(move + " origin: " + origin.toString() + " target: " + target);
         // System.out.println(board);
@@ -224,13 +344,13 @@ public class Game {
         // if (currentPlayer == startingPlayer) {
         //     this.statistics.increaseTotalTurns();
         // }
-        if (move == null) {
-            System.out.println("No moves available. Skipping turn.");
-            Card randomCard = currentPlayer.getCards().get((int) (Math.random() * currentPlayer.getCards().size()));
-            currentPlayer.getCards().remove(randomCard);
-            currentPlayer.getCards().add(neutralCard);
-            neutralCard = randomCard;
+        if (move == null || move.isPass()) {
+            // Pass with the chosen card, or with a random one if no move is given
+            Card passCard = move != null ? move.getCard()
+                    : currentPlayer.getCards().get(random.nextInt(currentPlayer.getCards().size()));
+            exchangeCard(passCard);
             switchPlayers();
+            listener.turnSkipped(this, passCard);
             return;
         }
         Card card = move.getCard();
@@ -243,17 +363,17 @@ public class Game {
             Player enemyPlayer = (currentPlayer == playerBlue) ? playerRed : playerBlue;
             enemyPlayer.getPieces().remove(target.getPiece());
         }
+        hashMove(piece, origin, target);
         origin.setPiece(null);
         target.setPiece(piece);
         piece.setTile(target);
 
-        currentPlayer.getCards().remove(card);
-        currentPlayer.getCards().add(neutralCard);
-        neutralCard = card;
+        exchangeCard(card);
+        listener.movePlayed(this, move);
 
         if (checkGameOver()) {
             gameOver = true;
-            // declareWinner();
+            declareWinner();
             this.statistics.setWinner(currentPlayer);
             this.statistics.setLoser((currentPlayer == playerBlue) ? playerRed : playerBlue);
             //System.out.print(board);
@@ -265,6 +385,156 @@ public class Game {
         //System.out.print(board);
     }
 
+    /**
+     * Applies a move in place and returns the information needed to revert
+     * it with {@link #unmakeMove(UndoRecord)}. Unlike {@link #playTurn(Move)}
+     * this does not update the statistics apart from the winner and loser,
+     * so searches can walk a single game instead of cloning it for every
+     * step. Moves must be reverted in the reverse order they were made. A
+     * pass is made as with {@link #makePass(Card)}.
+     *
+     * @param move the move to be made, using this game's pieces
+     * @return the undo record of the move
+     */
+    public UndoRecord makeMove(Move move) {
+        if (move.isPass()) {
+            return makePass(move.getCard());
+        }
+        Piece piece = move.getPiece();
+        Tile origin = piece.getTile();
+        int[] movement = move.getMovement();
+        Tile target = board.getTile(origin.getX() + movement[0], origin.getY() + movement[1]);
+        UndoRecord undo = new UndoRecord(piece, origin, target, this);
+        Piece captured = target.getPiece();
+        if (captured != null) {
+            List<Piece> enemyPieces = ((currentPlayer == playerBlue) ? playerRed : playerBlue).getPieces();
+            for (int i = 0; i < enemyPieces.size(); i++) {
+                if (enemyPieces.get(i) == captured) {
+                    enemyPieces.remove(i);
+                    undo.captured = captured;
+                    undo.capturedIndex = i;
+                    break;
+                }
+            }
+        }
+        hashMove(piece, origin, target);
+        origin.setPiece(null);
+        target.setPiece(piece);
+        piece.setTile(target);
+        undo.cardIndex = exchangeCard(move.getCard());
+        undo.card = neutralCard;
+
+        if (hasCurrentPlayerWon()) {
+            gameOver = true;
+            this.statistics.setWinner(currentPlayer);
+            this.statistics.setLoser((currentPlayer == playerBlue) ? playerRed : playerBlue);
+            return undo;
+        }
+        switchPlayers();
+        return undo;
+    }
+
+    /**
+     * Passes the turn of the current player, who has no possible moves, by
+     * exchanging the given card with the neutral card. Revert it with
+     * {@link #unmakeMove(UndoRecord)}.
+     *
+     * @param card the card of the current player to be exchanged
+     * @return the undo record of the pass
+     */
+    public UndoRecord makePass(Card card) {
+        UndoRecord undo = new UndoRecord(null, null, null, this);
+        undo.cardIndex = exchangeCard(card);
+        undo.card = neutralCard;
+        switchPlayers();
+        return undo;
+    }
+
+    /**
+     * Reverts a move made with {@link #makeMove(Move)} or
+     * {@link #makePass(Card)}.
+     *
+     * @param undo the undo record of the move
+     */
+    public void unmakeMove(UndoRecord undo) {
+        currentPlayer = undo.currentPlayer;
+        gameOver = undo.gameOver;
+        zobristKey = undo.zobristKey;
+        this.statistics.setWinner(undo.winner);
+        this.statistics.setLoser(undo.loser);
+
+        List<Card> cards = currentPlayer.getCards();
+        cards.remove(cards.size() - 1);
+        cards.add(undo.cardIndex, undo.card);
+        neutralCard = undo.neutralCard;
+
+        if (undo.piece != null) {
+            undo.target.setPiece(undo.captured);
+            undo.origin.setPiece(undo.piece);
+            undo.piece.setTile(undo.origin);
+            if (undo.captured != null) {
+                Player enemyPlayer = (currentPlayer == playerBlue) ? playerRed : playerBlue;
+                enemyPlayer.getPieces().add(undo.capturedIndex, undo.captured);
+            }
+        }
+    }
+
+    /**
+     * Exchanges a card of the current player with the neutral card. The
+     * played card becomes the new neutral card.
+     *
+     * @param card the card to be exchanged
+     * @return the index the card had in the player's hand
+     */
+    private int exchangeCard(Card card) {
+        List<Card> cards = currentPlayer.getCards();
+        int index = cards.indexOf(card);
+        Card played = cards.remove(index);
+        zobristKey ^= Zobrist.exchange(currentPlayer.getColor() == Color.BLUE ? BitBoard.BLUE : BitBoard.RED,
+                played.getId(), neutralCard.getId());
+        cards.add(neutralCard);
+        neutralCard = played;
+        return index;
+    }
+
+    /**
+     * Updates the Zobrist key for moving a piece, including the capture of a
+     * piece on the target tile. Must be called before the tiles are updated.
+     *
+     * @param piece the piece being moved
+     * @param origin the tile the piece is moved from
+     * @param target the tile the piece is moved to
+     */
+    private void hashMove(Piece piece, Tile origin, Tile target) {
+        zobristKey ^= Zobrist.piece(piece.getType(), BitBoard.square(origin.getX(), origin.getY()))
+                ^ Zobrist.piece(piece.getType(), BitBoard.square(target.getX(), target.getY()));
+        if (target.getPiece() != null) {
+            zobristKey ^= Zobrist.piece(target.getPiece().getType(), BitBoard.square(target.getX(), target.getY()));
+        }
+    }
+
+    /**
+     * Checks whether the current player has won, without recording anything
+     * in the statistics.
+     *
+     * @return true if the current player has won, false otherwise.
+     */
+    private boolean hasCurrentPlayerWon() {
+        for (Piece piece : currentPlayer.getPieces()) {
+            if ((piece.getType() == PieceType.BLUEMASTER && piece.getTile().isRedTemple())
+                    || (piece.getType() == PieceType.REDMASTER && piece.getTile().isBlueTemple())) {
+                return true;
+            }
+        }
+        Player enemyPlayer = (currentPlayer == playerBlue) ? playerRed : playerBlue;
+        for (Piece piece : enemyPlayer.getPieces()) {
+            if (piece.getType() == PieceType.BLUEMASTER || piece.getType() == PieceType.REDMASTER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Checks if the game is over.
      *
@@ -308,7 +578,17 @@ public class Game {
      */
     private void declareWinner() {
         // Logic to declare the winner
-        System.out.println("Game over. Winner: " + currentPlayer.getName());
+        listener.gameOver(this, currentPlayer);
+    }
+
+    /**
+     * Sets the listener observing the turns of this game. Games are silent by
+     * default; use a {@link ConsoleGameListener} to print them.
+     *
+     * @param listener the listener
+     */
+    public void setListener(GameListener listener) {
+        this.listener = listener;
     }
 
     /**
@@ -339,6 +619,25 @@ public class Game {
         return clone;
     }
 
+    /**
+     * Converts the current game state into a BitBoard.
+     *
+     * @return a BitBoard holding the current game state.
+     */
+    public BitBoard toBitBoard() {
+        return new BitBoard(this);
+    }
+
+    /**
+     * Gets the Zobrist key of the current position, covering the pieces, the
+     * cards of both players, the neutral card and the player to move.
+     *
+     * @return the Zobrist key of the current position.
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
     /**
      * Gets the current player.
      *
@@ -399,6 +698,7 @@ public class Game {
 
     private void switchPlayers() {
         currentPlayer = (currentPlayer == playerBlue) ? playerRed : playerBlue;
+        zobristKey ^= Zobrist.sideToMove();
     }
 
 }
@@ -0,0 +1,51 @@
+package com.example.logic;
+
+import com.example.players.Player;
+
+/**
+ * Observes the course of a {@link Game}, e.g. to print it to the console.
+ * All methods do nothing by default, and games that are not observed (the
+ * simulations of the players and batch runs) use {@link #SILENT}, so they
+ * neither build strings nor write to the console.
+ */
+public interface GameListener {
+
+    GameListener SILENT = new GameListener() {
+    }; // Ignores all events
+
+    /**
+     * Called before the current player chooses a move.
+     *
+     * @param game the game
+     */
+    default void turnStarted(Game game) {
+    }
+
+    /**
+     * Called after the current player has passed because no piece could
+     * move.
+     *
+     * @param game the game
+     * @param card the card exchanged instead of moving
+     */
+    default void turnSkipped(Game game, Card card) {
+    }
+
+    /**
+     * Called after a move has been played.
+     *
+     * @param game the game
+     * @param move the move
+     */
+    default void movePlayed(Game game, Move move) {
+    }
+
+    /**
+     * Called when the game is over.
+     *
+     * @param game the game
+     * @param winner the winner
+     */
+    default void gameOver(Game game, Player winner) {
+    }
+}
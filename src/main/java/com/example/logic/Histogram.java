@@ -0,0 +1,109 @@
+package com.example.logic;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values with buckets of equal width, where the
+ * last bucket also counts all larger values. Values can be recorded from
+ * several threads without locking, and histograms of the same shape can be
+ * merged.
+ */
+public class Histogram {
+
+    private final long bucketWidth; // Range of values counted by each bucket
+    private final LongAdder[] buckets; // Number of values in each bucket
+    private final LongAdder count = new LongAdder(); // Number of values
+    private final LongAdder sum = new LongAdder(); // Sum of the values
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0); // Largest value
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param buckets the number of buckets
+     * @param bucketWidth the range of values counted by each bucket
+     */
+    public Histogram(int buckets, long bucketWidth) {
+        this.bucketWidth = bucketWidth;
+        this.buckets = new LongAdder[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value. Negative values are counted as 0.
+     *
+     * @param value the value
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        this.buckets[(int) Math.min(value / this.bucketWidth, this.buckets.length - 1)].increment();
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Adds the values of another histogram of the same shape.
+     *
+     * @param other the other histogram
+     */
+    public void merge(Histogram other) {
+        if (other.buckets.length != this.buckets.length || other.bucketWidth != this.bucketWidth) {
+            throw new IllegalArgumentException("Histograms have different buckets");
+        }
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i].add(other.buckets[i].sum());
+        }
+        this.count.add(other.count.sum());
+        this.sum.add(other.sum.sum());
+        this.max.accumulate(other.max.get());
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0 : (double) getSum() / n;
+    }
+
+    /**
+     * Returns the number of values in a bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the number of values
+     */
+    public long getBucketCount(int bucket) {
+        return this.buckets[bucket].sum();
+    }
+
+    /**
+     * Returns an upper bound of the given percentile: the end of the bucket
+     * containing it, or the largest value for the last bucket.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the upper bound, or 0 if the histogram is empty
+     */
+    public long getPercentile(double percentile) {
+        long rank = (long) Math.ceil(getCount() * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < this.buckets.length - 1; i++) {
+            seen += this.buckets[i].sum();
+            if (seen >= rank && seen > 0) {
+                return Math.min((i + 1) * this.bucketWidth - 1, getMax());
+            }
+        }
+        return getMax();
+    }
+}
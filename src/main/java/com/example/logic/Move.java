@@ -26,6 +26,9 @@ public class Move {
 
     // Get the equivalent move from the game instance
     public Move getEquivalentMove(Game game) {
+        if (isPass()) {
+            return fromPacked(game, toPacked());
+        }
         List<Move> possibleMoves = Board.getPossibleMoves(game);
         for (Move possibleMove : possibleMoves) {
             if (this.movement[0] == possibleMove.movement[0] && this.movement[1] == possibleMove.movement[1]
@@ -38,6 +41,49 @@ public class Move {
         return null;  // Or handle appropriately
     }
 
+    /**
+     * Creates the Move for a packed move in the given game, using the game's
+     * own piece and card objects. A pass keeps the card to be exchanged, see
+     * {@link #isPass()}.
+     *
+     * @param game the game the move is played in
+     * @param move the packed move, see {@link BitBoard#encodeMove(int, int, int)}
+     * @return the move
+     */
+    public static Move fromPacked(Game game, int move) {
+        Board board = game.getBoard();
+        Tile origin = board.getTile(BitBoard.getX(BitBoard.moveFrom(move)), BitBoard.getY(BitBoard.moveFrom(move)));
+        Tile target = board.getTile(BitBoard.getX(BitBoard.moveTo(move)), BitBoard.getY(BitBoard.moveTo(move)));
+        Card card = null;
+        for (Card c : game.getCurrentPlayer().getCards()) {
+            if (c.getId() == BitBoard.moveCard(move)) {
+                card = c;
+            }
+        }
+        int[] movement = new int[]{target.getX() - origin.getX(), target.getY() - origin.getY()};
+        return new Move(card, origin.getPiece(), movement, origin, target);
+    }
+
+    /**
+     * Checks whether the move is a pass, which only exchanges its card with
+     * the neutral card. A pass stays on the origin tile, like a packed pass.
+     *
+     * @return true if the move is a pass, false otherwise
+     */
+    public boolean isPass() {
+        return origin == target;
+    }
+
+    /**
+     * Packs the move into an int, see {@link BitBoard#encodeMove(int, int, int)}.
+     *
+     * @return the packed move
+     */
+    public int toPacked() {
+        return BitBoard.encodeMove(BitBoard.square(origin.getX(), origin.getY()),
+                BitBoard.square(target.getX(), target.getY()), card.getId());
+    }
+
     // // Get the equivalent card from the cloned game state
     // public Card getEquivalentCard(Game clonedGame) {
     //     for (Card clonedCard : clonedGame.getCurrentPlayer().getCards()) {
@@ -0,0 +1,175 @@
+package com.example.logic;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sums up the {@link Statistics} of many games. The counters are
+ * {@link LongAdder}s, so games played on different threads can be recorded
+ * at the same time without locking. Accumulators can also be filled per
+ * thread and merged at the end; merging is associative.
+ *
+ * Besides the totals, the card usage is counted per card id (see
+ * {@link Card#getId()}) and the number of moves, the duration and the
+ * average number of possible moves of the games are kept in histograms.
+ */
+public class StatisticsAccumulator {
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder blueWins = new LongAdder();
+    private final LongAdder redWins = new LongAdder();
+    private final LongAdder totalMoves = new LongAdder();
+    private final LongAdder totalTurns = new LongAdder();
+    private final LongAdder blueMasterMoves = new LongAdder();
+    private final LongAdder redMasterMoves = new LongAdder();
+    private final LongAdder capturedBluePieces = new LongAdder();
+    private final LongAdder capturedRedPieces = new LongAdder();
+    private final LongAdder blueMasterCaptures = new LongAdder();
+    private final LongAdder redMasterCaptures = new LongAdder();
+    private final LongAdder blueTempleReached = new LongAdder();
+    private final LongAdder redTempleReached = new LongAdder();
+    private final LongAdder startingPlayerWins = new LongAdder();
+    private final LongAdder startingPlayerLosses = new LongAdder();
+    private final DoubleAdder possibleMoves = new DoubleAdder(); // Sum of the possible moves over all moves
+    private final LongAdder[] cardUsage = new LongAdder[Card.getDeckSize()]; // Uses of each card by id
+    private final Histogram movesPerGame = new Histogram(200, 1); // Moves per game
+    private final Histogram duration = new Histogram(600, 1000); // Duration of the games in milliseconds
+    private final Histogram branchingFactor = new Histogram(BitBoard.MAX_MOVES, 1); // Average possible moves per game
+
+    public StatisticsAccumulator() {
+        for (int i = 0; i < this.cardUsage.length; i++) {
+            this.cardUsage[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a finished game.
+     *
+     * @param game the statistics of the game
+     * @param durationMillis the duration of the game in milliseconds
+     */
+    public void record(Statistics game, long durationMillis) {
+        this.games.increment();
+        if (game.getWinner() != null) {
+            (game.getWinner().getColor() == Color.BLUE ? this.blueWins : this.redWins).increment();
+        }
+        this.totalMoves.add(game.getTotalMoves());
+        this.totalTurns.add(game.getTotalTurns());
+        this.blueMasterMoves.add(game.getBlueMasterMoves());
+        this.redMasterMoves.add(game.getRedMasterMoves());
+        this.capturedBluePieces.add(game.getCapturedBluePieces());
+        this.capturedRedPieces.add(game.getCapturedRedPieces());
+        this.blueMasterCaptures.add(game.getBlueMasterCaptures());
+        this.redMasterCaptures.add(game.getRedMasterCaptures());
+        this.blueTempleReached.add(game.getBlueTempleReached());
+        this.redTempleReached.add(game.getRedTempleReached());
+        this.startingPlayerWins.add(game.getStartingPlayerWins());
+        this.startingPlayerLosses.add(game.getStartingPlayerLosses());
+        this.possibleMoves.add(game.getPossibleMoves() * game.getTotalMoves());
+        for (Map.Entry<Card, Integer> usage : game.getCardUsageStats().entrySet()) {
+            this.cardUsage[usage.getKey().getId()].add(usage.getValue());
+        }
+        this.movesPerGame.record(game.getTotalMoves());
+        this.duration.record(durationMillis);
+        this.branchingFactor.record(Math.round(game.getPossibleMoves()));
+    }
+
+    /**
+     * Adds the games recorded by another accumulator.
+     *
+     * @param other the other accumulator
+     */
+    public void merge(StatisticsAccumulator other) {
+        this.games.add(other.games.sum());
+        this.blueWins.add(other.blueWins.sum());
+        this.redWins.add(other.redWins.sum());
+        this.totalMoves.add(other.totalMoves.sum());
+        this.totalTurns.add(other.totalTurns.sum());
+        this.blueMasterMoves.add(other.blueMasterMoves.sum());
+        this.redMasterMoves.add(other.redMasterMoves.sum());
+        this.capturedBluePieces.add(other.capturedBluePieces.sum());
+        this.capturedRedPieces.add(other.capturedRedPieces.sum());
+        this.blueMasterCaptures.add(other.blueMasterCaptures.sum());
+        this.redMasterCaptures.add(other.redMasterCaptures.sum());
+        this.blueTempleReached.add(other.blueTempleReached.sum());
+        this.redTempleReached.add(other.redTempleReached.sum());
+        this.startingPlayerWins.add(other.startingPlayerWins.sum());
+        this.startingPlayerLosses.add(other.startingPlayerLosses.sum());
+        this.possibleMoves.add(other.possibleMoves.sum());
+        for (int i = 0; i < this.cardUsage.length; i++) {
+            this.cardUsage[i].add(other.cardUsage[i].sum());
+        }
+        this.movesPerGame.merge(other.movesPerGame);
+        this.duration.merge(other.duration);
+        this.branchingFactor.merge(other.branchingFactor);
+    }
+
+    /**
+     * Returns the totals of all recorded games as a {@link Statistics}
+     * object. The number of possible moves is the average over all moves;
+     * winner and loser are not set.
+     *
+     * @return the totals
+     */
+    public Statistics snapshot() {
+        Statistics statistics = new Statistics();
+        long moves = this.totalMoves.sum();
+        statistics.setTotalMoves((int) moves);
+        statistics.setTotalTurns(this.totalTurns.intValue());
+        statistics.setBlueMasterMoves(this.blueMasterMoves.intValue());
+        statistics.setRedMasterMoves(this.redMasterMoves.intValue());
+        statistics.setCapturedBluePieces(this.capturedBluePieces.intValue());
+        statistics.setCapturedRedPieces(this.capturedRedPieces.intValue());
+        statistics.setBlueMasterCaptures(this.blueMasterCaptures.intValue());
+        statistics.setRedMasterCaptures(this.redMasterCaptures.intValue());
+        statistics.setBlueTempleReached(this.blueTempleReached.intValue());
+        statistics.setRedTempleReached(this.redTempleReached.intValue());
+        statistics.setStartingPlayerWins(this.startingPlayerWins.intValue());
+        statistics.setStartingPlayerLosses(this.startingPlayerLosses.intValue());
+        statistics.setPossibleMoves(moves == 0 ? 0 : this.possibleMoves.sum() / moves);
+        HashMap<Card, Integer> usage = new HashMap<>();
+        for (int i = 0; i < this.cardUsage.length; i++) {
+            if (this.cardUsage[i].sum() > 0) {
+                usage.put(Card.getCardById(i), this.cardUsage[i].intValue());
+            }
+        }
+        statistics.setCardUsage(usage);
+        return statistics;
+    }
+
+    public long getGames() {
+        return this.games.sum();
+    }
+
+    public long getBlueWins() {
+        return this.blueWins.sum();
+    }
+
+    public long getRedWins() {
+        return this.redWins.sum();
+    }
+
+    /**
+     * Returns how often a card was used in all recorded games.
+     *
+     * @param cardId the id of the card
+     * @return the number of uses
+     */
+    public long getCardUsage(int cardId) {
+        return this.cardUsage[cardId].sum();
+    }
+
+    public Histogram getMovesPerGame() {
+        return this.movesPerGame;
+    }
+
+    public Histogram getDuration() {
+        return this.duration;
+    }
+
+    public Histogram getBranchingFactor() {
+        return this.branchingFactor;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.logic;
+
+import com.example.players.Player;
+
+/**
+ * Holds everything needed to revert a move applied with
+ * {@link Game#makeMove(Move)} or {@link Game#makePass(Card)}.
+ */
+public class UndoRecord {
+
+    final Piece piece; // The moved piece, null for a pass
+    final Tile origin; // The tile the piece was moved from
+    final Tile target; // The tile the piece was moved to
+    Piece captured; // The captured piece, if any
+    int capturedIndex; // The index of the captured piece in the enemy's piece list
+    Card card; // The card that was played
+    int cardIndex; // The index of the played card in the player's hand
+    final Card neutralCard; // The neutral card before the move
+    final Player currentPlayer; // The player who made the move
+    final boolean gameOver; // Whether the game was over before the move
+    final Player winner; // The winner recorded in the statistics before the move
+    final Player loser; // The loser recorded in the statistics before the move
+    final long zobristKey; // The Zobrist key before the move
+
+    UndoRecord(Piece piece, Tile origin, Tile target, Game game) {
+        this.piece = piece;
+        this.origin = origin;
+        this.target = target;
+        this.neutralCard = game.getNeutralCard();
+        this.currentPlayer = game.getCurrentPlayer();
+        this.gameOver = game.isGameOver();
+        this.winner = game.getStatistics().getWinner();
+        this.loser = game.getStatistics().getLoser();
+        this.zobristKey = game.getZobristKey();
+    }
+
+    /**
+     * Returns the piece captured by the move.
+     *
+     * @return the captured piece, or null if nothing was captured
+     */
+    public Piece getCaptured() {
+        return captured;
+    }
+
+    /**
+     * Returns the card that was played.
+     *
+     * @return the card that was played
+     */
+    public Card getCard() {
+        return card;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.logic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for Onitama positions. A position's key is the XOR of one
+ * random number per piece and square, per card in each player's hand, for
+ * the neutral card and, if red is to move, for the side to move. Moves
+ * update the key incrementally by XORing out what changed.
+ *
+ * The keys are generated from a fixed seed, so the same position has the
+ * same key in every run.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x6F6E6974616D61L; // Fixed seed for reproducible keys
+    private static final long[] PIECES = new long[PieceType.values().length * BitBoard.SQUARES]; // Per piece type and square
+    private static final long[] HANDS = new long[2 * Card.getDeckSize()]; // Per player and card
+    private static final long[] NEUTRAL = new long[Card.getDeckSize()]; // Per neutral card
+    private static final long RED_TO_MOVE; // Toggled whenever the player to move changes
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < PIECES.length; i++) {
+            PIECES[i] = random.nextLong();
+        }
+        for (int i = 0; i < HANDS.length; i++) {
+            HANDS[i] = random.nextLong();
+        }
+        for (int i = 0; i < NEUTRAL.length; i++) {
+            NEUTRAL[i] = random.nextLong();
+        }
+        RED_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a piece on a square.
+     *
+     * @param type the type of the piece
+     * @param square the square, see {@link BitBoard#square(int, int)}
+     * @return the key of the piece on the square
+     */
+    public static long piece(PieceType type, int square) {
+        return PIECES[type.ordinal() * BitBoard.SQUARES + square];
+    }
+
+    /**
+     * Returns the key of a card in a player's hand.
+     *
+     * @param side the player, {@link BitBoard#BLUE} or {@link BitBoard#RED}
+     * @param card the id of the card
+     * @return the key of the card in the player's hand
+     */
+    public static long hand(int side, int card) {
+        return HANDS[side * Card.getDeckSize() + card];
+    }
+
+    /**
+     * Returns the key of the neutral card.
+     *
+     * @param card the id of the card
+     * @return the key of the card as the neutral card
+     */
+    public static long neutral(int card) {
+        return NEUTRAL[card];
+    }
+
+    /**
+     * Returns the key that is toggled when the player to move changes.
+     *
+     * @return the side to move key
+     */
+    public static long sideToMove() {
+        return RED_TO_MOVE;
+    }
+
+    /**
+     * Returns the key difference of exchanging a card of the given player
+     * with the neutral card.
+     *
+     * @param side the player exchanging the card
+     * @param card the id of the card played
+     * @param neutralCard the id of the neutral card before the exchange
+     * @return the key difference of the exchange
+     */
+    public static long exchange(int side, int card, int neutralCard) {
+        return hand(side, card) ^ neutral(card) ^ hand(side, neutralCard) ^ neutral(neutralCard);
+    }
+
+    /**
+     * Computes the key of the current state of a game from scratch.
+     *
+     * @param game the game
+     * @return the key of the game
+     */
+    public static long hash(Game game) {
+        long key = 0;
+        for (Tile[] row : game.getBoard().getTiles()) {
+            for (Tile tile : row) {
+                if (tile.getPiece() != null) {
+                    key ^= piece(tile.getPiece().getType(), BitBoard.square(tile.getX(), tile.getY()));
+                }
+            }
+        }
+        for (Card card : game.getPlayerBlue().getCards()) {
+            key ^= hand(BitBoard.BLUE, card.getId());
+        }
+        for (Card card : game.getPlayerRed().getCards()) {
+            key ^= hand(BitBoard.RED, card.getId());
+        }
+        key ^= neutral(game.getNeutralCard().getId());
+        if (game.getCurrentPlayer().getColor() == Color.RED) {
+            key ^= RED_TO_MOVE;
+        }
+        return key;
+    }
+
+    /**
+     * Computes the key of a BitBoard from scratch.
+     *
+     * @param bitBoard the BitBoard
+     * @return the key of the BitBoard
+     */
+    public static long hash(BitBoard bitBoard) {
+        long key = 0;
+        for (int side = BitBoard.BLUE; side <= BitBoard.RED; side++) {
+            PieceType master = side == BitBoard.BLUE ? PieceType.BLUEMASTER : PieceType.REDMASTER;
+            PieceType student = side == BitBoard.BLUE ? PieceType.BLUESTUDENT : PieceType.REDSTUDENT;
+            for (long bits = bitBoard.getPieces(side); bits != 0; bits &= bits - 1) {
+                int square = Long.numberOfTrailingZeros(bits);
+                boolean isMaster = (bitBoard.getMaster(side) & (1L << square)) != 0;
+                key ^= piece(isMaster ? master : student, square);
+            }
+            key ^= hand(side, bitBoard.getCard(side, 0)) ^ hand(side, bitBoard.getCard(side, 1));
+        }
+        key ^= neutral(bitBoard.getNeutralCard());
+        if (bitBoard.getSideToMove() == BitBoard.RED) {
+            key ^= RED_TO_MOVE;
+        }
+        return key;
+    }
+}
@@ -40,7 +40,7 @@ public class AggressivePlayer extends Player {
         // If there are any winning moves
         if (!winningMoves.isEmpty()) {
             // Generate a random index within the range of winning moves
-            int randomIndex = (int) (Math.random() * winningMoves.size());
+            int randomIndex = this.getRandom().nextInt(winningMoves.size());
             // Return the randomly selected winning move
             return winningMoves.get(randomIndex);
         }
@@ -56,7 +56,7 @@ public class AggressivePlayer extends Player {
         // If there are any aggressive moves
         if (!aggressiveMoves.isEmpty()) {
             // Generate a random index within the range of aggressive moves
-            int randomIndex = (int) (Math.random() * aggressiveMoves.size());
+            int randomIndex = this.getRandom().nextInt(aggressiveMoves.size());
 
             // Return the randomly selected aggressive move
             return aggressiveMoves.get(randomIndex);
@@ -65,7 +65,7 @@ public class AggressivePlayer extends Player {
         // If there are any possible moves
         if (!moves.isEmpty()) {
             // Generate a random index within the range of possible moves
-            int randomIndex = (int) (Math.random() * moves.size());
+            int randomIndex = this.getRandom().nextInt(moves.size());
 
             // Return the randomly selected move
             return moves.get(randomIndex);
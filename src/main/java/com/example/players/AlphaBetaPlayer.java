@@ -0,0 +1,160 @@
+package com.example.players;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+/**
+ * A player searching the game tree with negamax and alpha-beta pruning on a
+ * {@link BitBoard}. The search deepens iteratively until the budget is used
+ * up and plays the best move of the deepest finished iteration.
+ *
+ * <ul>
+ * <li>Moves are tried in the order: move from the transposition table,
+ * winning moves, captures, moves threatening the enemy master or temple,
+ * killer moves, then by the history heuristic.</li>
+ * <li>Positions are evaluated by the number of pieces, the distance of both
+ * masters to the enemy temple, and whether a master is attacked.</li>
+ * </ul>
+ *
+ * Iterations and nodes of the {@link SearchBudget} both count the searched
+ * positions of the main search thread.
+ *
+ * With more than one thread the player runs a Lazy SMP search: helper
+ * threads search the same root with their own killer moves and history,
+ * half of them starting one ply deeper, and all threads share the
+ * lock-free {@link TranspositionTable}. The helpers mostly fill the table
+ * with results the main thread finds there later. When the main thread
+ * runs out of budget the helpers are stopped, and the move of the thread
+ * that finished the deepest iteration is played.
+ */
+public class AlphaBetaPlayer extends Player {
+
+    private static final int TIMELIMIT = 2000;  // Time limit in milliseconds (2 seconds)
+    private static final int TABLE_ENTRIES = 1 << 20;  // Size of the transposition table
+
+    private final SearchBudget budget;  // Decides when a search stops
+    private final int threads;  // Number of search threads, the calling thread included
+    private ExecutorService executor;  // Runs the helper threads, created on the first move
+    private AlphaBetaSearch[] searches;  // Search state of each thread kept between moves, created on the first move
+
+    /**
+     * Creates a player with two seconds per move that searches on all
+     * cores. Meant for a single game per machine; when several games run
+     * at once, e.g. in a {@link com.example.tournament.Tournament}, give
+     * every player a share of the cores instead. The search threads run
+     * until the player is closed.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     */
+    public AlphaBetaPlayer(String name, Color color) {
+        this(name, color, SearchBudget.time(TIMELIMIT), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a single-threaded player that searches within the given
+     * budget, e.g. a fixed number of positions for reproducible benchmarks.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     */
+    public AlphaBetaPlayer(String name, Color color, SearchBudget budget) {
+        this(name, color, budget, 1);
+    }
+
+    /**
+     * Creates a player that searches within the given budget using the
+     * given number of threads.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     * @param threads the number of search threads
+     */
+    public AlphaBetaPlayer(String name, Color color, SearchBudget budget, int threads) {
+        super(name, color);
+        this.budget = budget;
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public Move move(Game game) {
+        BitBoard root = game.toBitBoard();
+        int[] rootMoves = root.getPossibleMoves();
+        if (rootMoves.length == 1) {
+            return Move.fromPacked(game, rootMoves[0]);  // Forced move, no need to search
+        }
+        if (searches == null) {
+            TranspositionTable table = new TranspositionTable(TABLE_ENTRIES);
+            searches = new AlphaBetaSearch[threads];
+            for (int i = 0; i < threads; i++) {
+                searches[i] = new AlphaBetaSearch(table);
+            }
+        }
+        if (threads > 1 && executor == null) {
+            executor = Executors.newFixedThreadPool(threads - 1, runnable -> {
+                Thread thread = new Thread(runnable, getName() + "-alphabeta");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        searches[0].getTable().newSearch();
+
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            AlphaBetaSearch helper = searches[i];
+            int firstDepth = 1 + i % 2;
+            futures.add(executor.submit(() -> helper.iterativeDeepening(root, null, stop, firstDepth)));
+        }
+        budget.start();
+        try {
+            searches[0].iterativeDeepening(root, budget, stop, 1);
+        } finally {
+            budget.finish();
+            stop.set(true);
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // Play the move of the deepest finished iteration, preferring the main thread
+        AlphaBetaSearch best = searches[0];
+        for (int i = 1; i < threads; i++) {
+            if (searches[i].getCompletedDepth() > best.getCompletedDepth()) {
+                best = searches[i];
+            }
+        }
+        return Move.fromPacked(game, best.getBestMove());
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public Player clone() {
+        return new AlphaBetaPlayer(this.getName(), this.getColor(), this.budget.copy(), this.threads);
+    }
+}
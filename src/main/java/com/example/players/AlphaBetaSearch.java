@@ -0,0 +1,352 @@
+package com.example.players;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Card;
+
+/**
+ * The state of one alpha-beta search: a board per ply, move buffers, killer
+ * moves and the history table. Scores are seen from the player to move.
+ */
+class AlphaBetaSearch {
+
+    static final int MAX_PLY = 64;  // Maximum search depth
+    static final int WIN = 30000;  // Score of winning immediately, reduced by the plies until the win
+    static final int WIN_BOUND = WIN - MAX_PLY;  // Scores beyond this are proven wins or losses
+    private static final int INFINITY = WIN + 1;  // Bound of all scores
+    private static final int PIECE_VALUE = 100;  // Value of a student, the master is never captured without losing
+    private static final int TEMPLE_DISTANCE_VALUE = 8;  // Value of a master being one row or column closer to the enemy temple
+    private static final int MASTER_ATTACKED = 60;  // Penalty for a master the enemy can capture with his cards
+
+    private static final int ORDER_TABLE_MOVE = 1 << 30;  // Order of the move from the transposition table
+    private static final int ORDER_WIN = 1 << 29;  // Order of moves capturing the master or reaching the temple
+    private static final int ORDER_CAPTURE = 1 << 28;  // Order of captures
+    private static final int ORDER_THREAT = 1 << 27;  // Order of moves attacking the enemy master or temple
+    private static final int ORDER_KILLER = 1 << 26;  // Order of the first killer move, the second is one less
+
+    private final TranspositionTable table;  // Positions searched before, possibly shared with other searches
+    private final BitBoard[] boards = new BitBoard[MAX_PLY + 1];  // The position at each ply
+    private final int[][] moves = new int[MAX_PLY][BitBoard.MAX_MOVES];  // The moves at each ply
+    private final int[][] order = new int[MAX_PLY][BitBoard.MAX_MOVES];  // The order of the moves at each ply
+    private final int[][] killers = new int[MAX_PLY][2];  // Quiet moves that caused a cutoff at each ply
+    private final int[][] history = new int[2][64 * 64];  // Cutoffs of quiet moves per player and from-to squares
+    private SearchBudget budget;  // Decides when the current search stops, or null for a helper search
+    private AtomicBoolean stop;  // Set when all searches of the current move have to stop
+    private long nodes;  // Positions searched in the current search
+    private boolean aborted;  // The budget ran out during the current iteration
+    private int completedDepth;  // Depth of the last finished iteration of the current search
+    private int bestMove;  // Best move of the current search
+
+    AlphaBetaSearch(TranspositionTable table) {
+        this.table = table;
+        for (int i = 0; i <= MAX_PLY; i++) {
+            boards[i] = new BitBoard();
+        }
+    }
+
+    TranspositionTable getTable() {
+        return table;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Searches with increasing depth until the budget is used up or the stop
+     * flag is set, the maximum depth is reached or the game is decided.
+     *
+     * @param root the position to search, which must not be over
+     * @param budget the budget, already started, or null to search until
+     * the stop flag is set
+     * @param stop the flag stopping the search
+     * @param firstDepth the depth of the first iteration
+     * @return the best packed move
+     */
+    int iterativeDeepening(BitBoard root, SearchBudget budget, AtomicBoolean stop, int firstDepth) {
+        this.budget = budget;
+        this.stop = stop;
+        this.nodes = 0;
+        this.aborted = false;
+        this.completedDepth = 0;
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = 0;
+            plyKillers[1] = 0;
+        }
+        for (int[] sideHistory : history) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] >>= 2;  // Keep some knowledge of the previous move
+            }
+        }
+        boards[0].copyFrom(root);
+
+        int bestMove = BitBoard.NONE;
+        for (int depth = firstDepth; depth < MAX_PLY; depth++) {
+            int[] result = searchRoot(depth, bestMove);
+            if (result[0] != BitBoard.NONE) {
+                bestMove = result[0];  // A partly searched iteration still tried the previous best move first
+            }
+            if (aborted || Math.abs(result[1]) >= WIN_BOUND) {
+                if (!aborted) {
+                    completedDepth = depth;
+                }
+                break;
+            }
+            completedDepth = depth;
+        }
+        if (bestMove == BitBoard.NONE) {
+            bestMove = boards[0].getPossibleMoves()[0];
+        }
+        this.bestMove = bestMove;
+        return bestMove;
+    }
+
+    /**
+     * Searches the root position to the given depth.
+     *
+     * @param depth the depth
+     * @param previousBest the best move of the previous iteration, searched
+     * first, or NONE
+     * @return the best move, or NONE if no move was searched completely,
+     * and its score
+     */
+    private int[] searchRoot(int depth, int previousBest) {
+        BitBoard board = boards[0];
+        int count = board.getPossibleMoves(moves[0]);
+        int firstMove = previousBest;
+        if (firstMove == BitBoard.NONE) {
+            long entry = table.probe(board.getZobristKey());
+            firstMove = entry == TranspositionTable.MISS ? 0 : TranspositionTable.getMove(entry);
+        }
+        orderMoves(0, count, firstMove);
+
+        int alpha = -INFINITY;
+        int bestMove = BitBoard.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = nextMove(0, i, count);
+            int score = searchChild(0, move, depth, alpha, INFINITY, i == 0);
+            if (aborted) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+        }
+        if (!aborted) {
+            table.store(board.getZobristKey(), bestMove, toTable(alpha, 0), depth, TranspositionTable.BOUND_EXACT, 0);
+        }
+        return new int[] {bestMove, alpha};
+    }
+
+    /**
+     * Plays a move and searches the resulting position with a principal
+     * variation search: moves after the first are searched with a null
+     * window and searched again if they turn out better.
+     */
+    private int searchChild(int ply, int move, int depth, int alpha, int beta, boolean first) {
+        BitBoard child = boards[ply + 1];
+        child.copyFrom(boards[ply]);
+        child.play(move);
+        if (child.isGameOver()) {
+            return WIN - ply - 1;  // The player who made the move has won
+        }
+        if (first) {
+            return -negamax(ply + 1, depth - 1, -beta, -alpha);
+        }
+        int score = -negamax(ply + 1, depth - 1, -alpha - 1, -alpha);
+        if (score > alpha && score < beta && !aborted) {
+            score = -negamax(ply + 1, depth - 1, -beta, -alpha);
+        }
+        return score;
+    }
+
+    private int negamax(int ply, int depth, int alpha, int beta) {
+        nodes++;
+        if ((budget != null && budget.isExhausted(nodes, nodes)) || stop.get()) {
+            aborted = true;
+            return 0;
+        }
+        BitBoard board = boards[ply];
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return evaluate(board, ply);
+        }
+
+        long key = board.getZobristKey();
+        long entry = table.probe(key);
+        int tableMove = 0;
+        if (entry != TranspositionTable.MISS) {
+            tableMove = TranspositionTable.getMove(entry);
+            if (TranspositionTable.getDepth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.getScore(entry), ply);
+                int bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int side = board.getSideToMove();
+        int count = board.getPossibleMoves(moves[ply]);
+        orderMoves(ply, count, tableMove);
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = 0;
+        for (int i = 0; i < count; i++) {
+            int move = nextMove(ply, i, count);
+            int score = searchChild(ply, move, depth, alpha, beta, i == 0);
+            if (aborted) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                if (!isCapture(board, move)) {
+                    rememberQuietCutoff(ply, side, move, depth);
+                }
+                break;
+            }
+        }
+
+        int bound = bestScore <= originalAlpha ? TranspositionTable.BOUND_UPPER
+                : bestScore >= beta ? TranspositionTable.BOUND_LOWER : TranspositionTable.BOUND_EXACT;
+        table.store(key, bestMove, toTable(bestScore, ply), depth, bound, 0);
+        return bestScore;
+    }
+
+    private void rememberQuietCutoff(int ply, int side, int move, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = BitBoard.moveFrom(move) << 6 | BitBoard.moveTo(move);
+        history[side][index] = Math.min(history[side][index] + depth * depth, ORDER_KILLER - 1);
+    }
+
+    /**
+     * Evaluates a position without searching. A player who can win with
+     * his next move is scored as a proven win.
+     *
+     * @param board the position
+     * @param ply the distance to the root
+     * @return the score for the player to move
+     */
+    static int evaluate(BitBoard board, int ply) {
+        int side = board.getSideToMove();
+        int enemy = side ^ 1;
+        long ownMaster = board.getMaster(side);
+        long enemyMaster = board.getMaster(enemy);
+        long enemyTemple = 1L << MoveHeuristic.enemyTemple(side);
+        if ((attacks(board, side) & enemyMaster) != 0
+                || (attacks(board, side, ownMaster) & enemyTemple & ~board.getPieces(side)) != 0) {
+            return WIN - ply - 1;
+        }
+        int score = PIECE_VALUE * (Long.bitCount(board.getPieces(side)) - Long.bitCount(board.getPieces(enemy)));
+        score += TEMPLE_DISTANCE_VALUE * (MoveHeuristic.templeDistance(Long.numberOfTrailingZeros(enemyMaster), enemy)
+                - MoveHeuristic.templeDistance(Long.numberOfTrailingZeros(ownMaster), side));
+        if ((attacks(board, enemy) & ownMaster) != 0) {
+            score -= MASTER_ATTACKED;
+        }
+        return score;
+    }
+
+    // The squares the pieces of a player attack with his cards
+    private static long attacks(BitBoard board, int side) {
+        return attacks(board, side, board.getPieces(side));
+    }
+
+    // The squares the given pieces of a player attack with his cards
+    private static long attacks(BitBoard board, int side, long pieces) {
+        long attacks = 0;
+        for (int slot = 0; slot < 2; slot++) {
+            int card = board.getCard(side, slot);
+            for (long bits = pieces; bits != 0; bits &= bits - 1) {
+                attacks |= Card.getTargets(card, side, Long.numberOfTrailingZeros(bits));
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isCapture(BitBoard board, int move) {
+        return (board.getPieces(board.getSideToMove() ^ 1) & (1L << BitBoard.moveTo(move))) != 0;
+    }
+
+    // Gives every move of a ply its ordering key
+    private void orderMoves(int ply, int count, int tableMove) {
+        BitBoard board = boards[ply];
+        int side = board.getSideToMove();
+        int enemy = side ^ 1;
+        long enemies = board.getPieces(enemy);
+        long enemyMaster = board.getMaster(enemy);
+        long enemyTemple = 1L << MoveHeuristic.enemyTemple(side);
+        long master = board.getMaster(side);
+        for (int i = 0; i < count; i++) {
+            int move = moves[ply][i];
+            int from = BitBoard.moveFrom(move);
+            int to = BitBoard.moveTo(move);
+            long target = 1L << to;
+            boolean masterMove = ((1L << from) & master) != 0;
+            int key;
+            if (move == tableMove) {
+                key = ORDER_TABLE_MOVE;
+            } else if ((target & enemyMaster) != 0 || (masterMove && (target & enemyTemple) != 0)) {
+                key = ORDER_WIN;
+            } else if ((target & enemies) != 0) {
+                key = ORDER_CAPTURE;
+            } else if (MoveHeuristic.isThreat(board, move, masterMove)) {
+                key = ORDER_THREAT;
+            } else if (move == killers[ply][0]) {
+                key = ORDER_KILLER;
+            } else if (move == killers[ply][1]) {
+                key = ORDER_KILLER - 1;
+            } else {
+                key = history[side][from << 6 | to];
+            }
+            order[ply][i] = key;
+        }
+    }
+
+    // Moves the best of the remaining moves to the given index and returns it
+    private int nextMove(int ply, int index, int count) {
+        int[] plyMoves = moves[ply];
+        int[] plyOrder = order[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (plyOrder[i] > plyOrder[best]) {
+                best = i;
+            }
+        }
+        int move = plyMoves[best];
+        plyMoves[best] = plyMoves[index];
+        plyMoves[index] = move;
+        int key = plyOrder[best];
+        plyOrder[best] = plyOrder[index];
+        plyOrder[index] = key;
+        return move;
+    }
+
+    // Proven wins are stored relative to the position, not to the root
+    private static int toTable(int score, int ply) {
+        return score >= WIN_BOUND ? score + ply : score <= -WIN_BOUND ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return score >= WIN_BOUND ? score - ply : score <= -WIN_BOUND ? score + ply : score;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.players;
+
+import java.util.SplittableRandom;
+
+import com.example.logic.BitBoard;
+
+/**
+ * The playout policy of {@link MCTSheavyPlayer}, choosing moves like
+ * {@link AggressivePlayer} on a {@link BitBoard}: a random winning move if
+ * there is one, otherwise a random capture, otherwise a random move.
+ *
+ * The moves are sorted into winning moves and captures while they are
+ * generated, using buffers that are allocated once, so a playout does not
+ * allocate. A policy is not thread-safe; every search thread needs its own.
+ */
+public class HeavyPlayoutPolicy {
+
+    private final int[] moves = new int[BitBoard.MAX_MOVES];  // All moves of the current position
+    private final int[] winningMoves = new int[BitBoard.MAX_MOVES];  // Moves capturing the master or reaching the temple
+    private final int[] captures = new int[BitBoard.MAX_MOVES];  // Other moves capturing a piece
+    private final SplittableRandom random;  // Chooses among the moves of the same kind
+
+    /**
+     * Creates a policy using the given random generator.
+     *
+     * @param random the random generator
+     */
+    public HeavyPlayoutPolicy(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Chooses a move for the player to move.
+     *
+     * @param board the position, which must not be over
+     * @return the packed move
+     */
+    public int selectMove(BitBoard board) {
+        int side = board.getSideToMove();
+        int opponent = 1 - side;
+        long enemies = board.getPieces(opponent);
+        long enemyMaster = board.getMaster(opponent);
+        long master = board.getMaster(side);
+        long temple = 1L << (side == BitBoard.BLUE ? BitBoard.RED_TEMPLE : BitBoard.BLUE_TEMPLE);
+
+        int count = board.getPossibleMoves(this.moves);
+        int winningCount = 0;
+        int captureCount = 0;
+        for (int i = 0; i < count; i++) {
+            int move = this.moves[i];
+            long target = 1L << BitBoard.moveTo(move);
+            if ((target & enemyMaster) != 0
+                    || (((1L << BitBoard.moveFrom(move)) & master) != 0 && (target & temple) != 0)) {
+                this.winningMoves[winningCount++] = move;
+            } else if ((target & enemies) != 0) {
+                this.captures[captureCount++] = move;
+            }
+        }
+        if (winningCount > 0) {
+            return this.winningMoves[this.random.nextInt(winningCount)];
+        }
+        if (captureCount > 0) {
+            return this.captures[this.random.nextInt(captureCount)];
+        }
+        return this.moves[this.random.nextInt(count)];
+    }
+
+    /**
+     * Plays moves chosen by this policy until the game is over or the
+     * maximum number of moves has been played.
+     *
+     * @param board the position, changed in place
+     * @param maxMoves the maximum number of moves, passes included
+     * @return the number of moves played
+     */
+    public int playout(BitBoard board, int maxMoves) {
+        int played = 0;
+        while (!board.isGameOver() && played < maxMoves) {
+            board.play(selectMove(board));
+            played++;
+        }
+        return played;
+    }
+}
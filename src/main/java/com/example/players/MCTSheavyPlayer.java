@@ -1,8 +1,9 @@
 package com.example.players;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
+import com.example.logic.BitBoard;
 import com.example.logic.Board;
 import com.example.logic.Card;
 import com.example.logic.Color;
@@ -15,54 +16,150 @@ public class MCTSheavyPlayer extends Player {
 
     private static final int TIMELIMIT = 2000;  // Time limit in milliseconds (2 seconds)
     private static final int MAX_DEPTH = 50;  // Maximum depth for the MCTS tree
+    private static final int TABLE_ENTRIES = 1 << 18;  // Size of the transposition table
+    private static final int TABLE_VISITS = 20;  // Maximum weight of the transposition table statistics of a new node, in visits
+    private static final double EXPLORATION = 0.25;  // Default exploration constant of UCT
+    private static final double PRIOR_WEIGHT = 0.5;  // Weight of the move priors in UCT, see MoveHeuristic
+
+    private final SearchBudget budget;  // Decides when a search stops
+    private final double exploration;  // Exploration constant of UCT
+    private BitBoard scratch;  // Position of the current simulation, or of the node being expanded
+    private HeavyPlayoutPolicy policy;  // Chooses the moves of the simulations
+    private TranspositionTable table;  // Statistics of positions reached via different move orders
+    private NodeHeavy tree;  // Root of the previous search, reused for the next move
 
     public MCTSheavyPlayer(String name, Color color) {
+        this(name, color, SearchBudget.time(TIMELIMIT));
+    }
+
+    /**
+     * Creates a player that searches within the given budget, e.g. a fixed
+     * number of iterations for reproducible benchmarks.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     */
+    public MCTSheavyPlayer(String name, Color color, SearchBudget budget) {
+        this(name, color, budget, EXPLORATION);
+    }
+
+    /**
+     * Creates a player that searches within the given budget and explores
+     * with the given UCT constant.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     * @param exploration the exploration constant of UCT
+     */
+    public MCTSheavyPlayer(String name, Color color, SearchBudget budget, double exploration) {
         super(name, color);
+        this.budget = budget;
+        this.exploration = exploration;
     }
 
     @Override
     public Move move(Game game) {
-        NodeHeavy rootNode = new NodeHeavy(game.clone());  // Create a root node with the current game state, no move or parent
+        List<Move> possibleMoves = Board.getPossibleMoves(game);
+        if (possibleMoves.size() == 1) {
+            // Forced move, no need to search; keep only the subtree of this position for the next search
+            this.tree = reuseTree(game);
+            return possibleMoves.get(0);
+        }
+        NodeHeavy rootNode = reuseTree(game);  // Continue the previous search, or start a new one from the current game state
+        if (scratch == null) {
+            scratch = new BitBoard();
+            table = new TranspositionTable(TABLE_ENTRIES);
+        }
+        if (policy == null) {
+            policy = new HeavyPlayoutPolicy(this.getRandom());
+        }
+        table.newSearch();
 
-        //int iterations = 0;
-        long startTime = System.currentTimeMillis();
+        long iterations = 0;
+        long nodes = 0;
+        budget.start();
 
-        while (System.currentTimeMillis() - startTime < TIMELIMIT) {
+        // A proven root needs no more search, e.g. when a move wins at once
+        while (rootNode.proven == NodeHeavy.UNPROVEN && !budget.isExhausted(iterations, nodes)) {
             NodeHeavy selectedNode = select(rootNode);
             NodeHeavy child = expand(selectedNode);
-            double result = simulate(child);
+            if (child != selectedNode) {
+                nodes++;
+            }
+            double result = child.proven == NodeHeavy.UNPROVEN ? simulate(child) : child.proven == NodeHeavy.PROVEN_WIN ? 1 : 0;
             backpropagate(child, result);
-            // iterations++;
+            iterations++;
         }
+        budget.finish();
 
         // System.out.println("Iterations (heavy): " + iterations);
+        this.tree = rootNode;
         // Step 5: Return the move from the most visited child node
         return getBestMove(rootNode).getEquivalentMove(game);
     }
 
+    /**
+     * Returns the node of the current position in the tree of the previous
+     * search, reached by our move and the opponent's reply. The rest of the
+     * old tree is released. Returns a new root node if the position is not
+     * in the tree.
+     *
+     * @param game the current game
+     * @return the root node for the search
+     */
+    private NodeHeavy reuseTree(Game game) {
+        NodeHeavy node = this.tree == null ? null : findNode(this.tree, game.getZobristKey(), 2);
+        this.tree = null;
+        if (node == null) {
+            return new NodeHeavy(game.clone());
+        }
+        node.parent = null;
+        return node;
+    }
+
+    // Searches the position with the given Zobrist key up to the given depth below the node
+    private static NodeHeavy findNode(NodeHeavy node, long key, int depth) {
+        if (node.game.getZobristKey() == key) {
+            return node;
+        }
+        if (depth > 0) {
+            for (NodeHeavy child : node.children) {
+                NodeHeavy found = findNode(child, key, depth - 1);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
     // Step 1: Selection - Traverse the tree using UCT to find the best node to explore
     private NodeHeavy select(NodeHeavy node) {
-        while (!node.children.isEmpty() && node.children.size() == Board.getPossibleMoves(node.game).size()) {
-            node = bestUCT(node);
+        while (!node.children.isEmpty() && node.untriedMoves.isEmpty()) {
+            NodeHeavy child = bestUCT(node);
+            if (child == null) {
+                break;  // All children are proven, so the node is proven as well
+            }
+            node = child;
         }
         return node;
     }
 
-    // Step 2: Expansion - Add a new child node for each possible move
+    // Step 2: Expansion - Add a new child node for one of the untried moves
     private NodeHeavy expand(NodeHeavy node) {
-        if (node.game.isGameOver()) {
+        if (node.game.isGameOver() || node.untriedMoves.isEmpty()) {
             return node;
         }
-        List<Move> possibleMoves = Board.getPossibleMoves(node.game);
-        List<Move> usedMoves = new ArrayList<>();
-        for (NodeHeavy child : node.children) {
-            Move move = child.move;
-            Piece piece = move.getPiece().clone();
-            piece.setTile(move.getOrigin());
-            usedMoves.add(new Move(move.getCard(), piece, move.getMovementCopy(), move.getOrigin(), move.getTarget()));
-        }
-        possibleMoves.removeAll(usedMoves);
-        Move move = possibleMoves.get((int) (Math.random() * possibleMoves.size()));
+        // Take the untried move with the highest prior, moving the last one into its place
+        List<Move> untriedMoves = node.untriedMoves;
+        scratch.copyFrom(node.game);
+        int index = MoveHeuristic.indexOfBest(scratch, untriedMoves, this.getRandom());
+        Move move = untriedMoves.get(index);
+        untriedMoves.set(index, untriedMoves.get(untriedMoves.size() - 1));
+        untriedMoves.remove(untriedMoves.size() - 1);
+        double prior = MoveHeuristic.prior(scratch, move.toPacked());
         Game newGameState = node.game.clone();
         Card card = move.getCard().clone();
         // Map the original objects (piece, Card) in the move to the cloned game objects
@@ -81,52 +178,37 @@ public class MCTSheavyPlayer extends Player {
 
         // Create a child node with the cloned game state
         NodeHeavy childNode = new NodeHeavy(newGameState, clonedMove, node);
+        childNode.prior = prior;
+        // Blend in the statistics of the same position reached via another move order, kept apart from the own visits
+        long entry = table.probe(newGameState.getZobristKey());
+        if (entry != TranspositionTable.MISS) {
+            childNode.tableVisits = Math.min(TranspositionTable.getVisits(entry), TABLE_VISITS);
+            childNode.tableScore = TranspositionTable.getWinRate(entry) * childNode.tableVisits;
+        }
         node.addChild(childNode);  // Add the new child node to the parent's children list
         return childNode;
     }
 
-    // Step 3: Simulation - Play a random game to the end from this state and return the result
+    // Step 3: Simulation - Play a game with the heavy playout policy from this state and return the result
     private double simulate(NodeHeavy node) {
         if (node.game.isGameOver()) {
             return 1;
         }
-        Game tempGame = node.game.clone();
-        Color currentPlayerColor = tempGame.getCurrentPlayer().getColor();
-        Color previousPlayerColor = currentPlayerColor == Color.BLUE ? Color.RED : Color.BLUE;
-
-        int depth = 0;
+        scratch.copyFrom(node.game);  // Played on a BitBoard, the node's game is not changed
+        int previousPlayer = 1 - scratch.getSideToMove();
 
-        while (!tempGame.isGameOver() && depth < MAX_DEPTH) {
-            List<Move> possibleMoves = Board.getPossibleMoves(tempGame);
-            // Check if there are no possible moves
-            if (possibleMoves.isEmpty()) {
-                // Skip the turn if there are no possible moves (this is done by passing null)
-                tempGame.playTurn(null);
-                // Continue the simulation
-                continue;
-            }
-            Player currentPlayer = tempGame.getCurrentPlayer();
-            Move aggressiveMove = new AggressivePlayer(currentPlayer.getName(),
-                    currentPlayer.getColor()).move(tempGame);
-            tempGame.playTurn(aggressiveMove);
-            depth++;
-        }
+        int depth = policy.playout(scratch, MAX_DEPTH);
 
         // If maximum depth is reached without a clear game-over state, return a heuristic evaluation
-        if (depth >= MAX_DEPTH) {
-            return evaluateGameState(tempGame, previousPlayerColor); // Use heuristic evaluation
+        if (depth >= MAX_DEPTH && !scratch.isGameOver()) {
+            return evaluateGameState(scratch, previousPlayer); // Use heuristic evaluation
         }
-
         // Winner of simulation = player at the parent node? If yes -> 1, else 0
-        // return tempGame.getCurrentPlayer().getColor() == previousPlayerColor ? 1 : 0;  // 1 for win, 0 for loss
-        return tempGame.getStatistics().getWinner().getColor() == previousPlayerColor ? 1 : 0;  // 1 for win, 0 for loss
+        return scratch.getWinner() == previousPlayer ? 1 : 0;  // 1 for win, 0 for loss
     }
 
-    private double evaluateGameState(Game game, Color playerColor) {
-        Player currentPlayer = playerColor == Color.BLUE ? game.getPlayerBlue() : game.getPlayerRed();
-        Player opponent = playerColor == Color.BLUE ? game.getPlayerRed() : game.getPlayerBlue();
-
-        int pieceDifference = currentPlayer.getPieces().size() - opponent.getPieces().size();
+    private double evaluateGameState(BitBoard board, int player) {
+        int pieceDifference = Long.bitCount(board.getPieces(player)) - Long.bitCount(board.getPieces(1 - player));
 
         // Heuristic: Favor the player with more pieces
         if (pieceDifference > 0) {
@@ -139,11 +221,16 @@ public class MCTSheavyPlayer extends Player {
         return 0.5; // Can be adjusted depending on your algorithm's requirements
     }
 
-    // Step 4: Backpropagation - Update the current node and all ancestors with the result
+    // Step 4: Backpropagation - Update the current node and all ancestors with the result, and propagate proven results
     private void backpropagate(NodeHeavy node, double result) {
+        boolean solved = node.proven != NodeHeavy.UNPROVEN;  // The parent may be proven as well
         while (node != null) {
             node.visits++;
             node.score += result;  // Adjust based on the result of the simulation
+            table.addResult(node.game.getZobristKey(), result);
+            if (solved && node.parent != null) {
+                solved = node.parent.updateProven();
+            }
             node = node.parent;
             result = 1 - result;  // Switch the result for the parent node
         }
@@ -155,7 +242,10 @@ public class MCTSheavyPlayer extends Player {
         double bestUCTValue = Double.NEGATIVE_INFINITY;
 
         for (NodeHeavy child : node.children) {
-            double uctValue = child.getUCTValue(this.getColor());
+            if (child.proven != NodeHeavy.UNPROVEN) {
+                continue;  // Solved subtrees need no more simulations
+            }
+            double uctValue = child.getUCTValue(this.exploration, PRIOR_WEIGHT);
             if (uctValue > bestUCTValue) {
                 bestUCTValue = uctValue;
                 bestChild = child;
@@ -167,13 +257,18 @@ public class MCTSheavyPlayer extends Player {
         return bestChild;
     }
 
-    // Step 5: Choose the best move based on the most visited child node
+    // Step 5: Choose a proven win, otherwise the most visited child node that is not a proven loss
     private Move getBestMove(NodeHeavy rootNode) {
         NodeHeavy bestNode = null;
         int mostVisits = Integer.MIN_VALUE;
 
         for (NodeHeavy child : rootNode.children) {
-            if (child.visits > mostVisits) {
+            if (child.proven == NodeHeavy.PROVEN_WIN) {
+                return child.move;
+            }
+            boolean lost = child.proven == NodeHeavy.PROVEN_LOSS;
+            boolean bestLost = bestNode != null && bestNode.proven == NodeHeavy.PROVEN_LOSS;
+            if (bestNode == null || (bestLost && !lost) || (bestLost == lost && child.visits > mostVisits)) {
                 mostVisits = child.visits;
                 bestNode = child;
             }
@@ -186,53 +281,13 @@ public class MCTSheavyPlayer extends Player {
     }
 
     @Override
-    public Player clone() {
-        return new MCTSheavyPlayer(this.getName(), this.getColor());
+    public void setRandom(SplittableRandom random) {
+        super.setRandom(random);
+        this.policy = null;  // Recreated with the new generator
     }
-}
 
-class NodeHeavy {
-
-    Game game;  // Der aktuelle Zustand des Spiels in diesem Knoten
-    NodeHeavy parent;  // Der Elternknoten
-    List<NodeHeavy> children;  // Die Kindknoten
-    int visits = 0;  // Anzahl der Besuche dieses Knotens (MCTS)
-    double score = 0;  // Anzahl der Siege aus diesem Knoten
-    Move move;  // Der Zug, der diesen Knoten erzeugt hat
-
-    // Konstruktor, der den Zug zusätzlich aufnimmt
-    NodeHeavy(Game game, Move move, NodeHeavy parent) {
-        this.game = game;
-        this.move = move;  // Speichern des Zugs, der zu diesem Knoten führt
-        this.parent = parent;  // Setzt den Elternknoten
-        this.children = new ArrayList<>();
-    }
-
-    // Konstruktor für den Wurzelknoten
-    NodeHeavy(Game game) {
-        this.game = game;
-        this.move = null;  // Der Wurzelknoten hat keinen Zug
-        this.parent = null;  // Der Wurzelknoten hat keinen Elternknoten
-        this.children = new ArrayList<>();
-    }
-
-    // UCT-Wert (Upper Confidence Bound applied to Trees)
-    double getUCTValue(Color color) {
-        if (visits == 0) { // TODO: Check if this is correct
-            // return Double.MAX_VALUE;  // Return max value if the node has not been visited yet
-            return 0;
-        }
-        double exploitation = score / visits;
-
-        double exploration = Math.sqrt(Math.log(parent.visits) / visits);
-
-        double c = 0.25;
-
-        return exploitation + c * exploration;  // 1.41 is sqrt(2)
-    }
-
-    // Methode zum Hinzufügen eines Kindknotens
-    void addChild(NodeHeavy child) {
-        this.children.add(child);
+    @Override
+    public Player clone() {
+        return new MCTSheavyPlayer(this.getName(), this.getColor(), this.budget.copy(), this.exploration);
     }
 }
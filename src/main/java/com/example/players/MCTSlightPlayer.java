@@ -3,6 +3,7 @@ package com.example.players;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.example.logic.BitBoard;
 import com.example.logic.Board;
 import com.example.logic.Card;
 import com.example.logic.Color;
@@ -10,36 +11,136 @@ import com.example.logic.Game;
 import com.example.logic.Move;
 import com.example.logic.Piece;
 import com.example.logic.Tile;
+import com.example.logic.UndoRecord;
 
 public class MCTSlightPlayer extends Player {
 
     private static final int TIMELIMIT = 2000;  // Time limit in milliseconds (2 seconds)
+    private static final int TABLE_ENTRIES = 1 << 18;  // Size of the transposition table
+    private static final int TABLE_VISITS = 20;  // Maximum weight of the transposition table statistics of a new node, in visits
+    private static final double EXPLORATION = 0.25;  // Default exploration constant of UCT
+    private static final double PRIOR_WEIGHT = 0.5;  // Weight of the move priors in UCT, see MoveHeuristic
+
+    private final SearchBudget budget;  // Decides when a search stops
+    private final double exploration;  // Exploration constant of UCT
+    private BitBoard scratch;  // Position of the node being expanded, for the move priors
+    private int[] moveBuffer;  // Reused buffer for the packed moves generated during simulation
+    private List<UndoRecord> undoStack;  // Moves made during a simulation, reverted afterwards
+    private TranspositionTable table;  // Statistics of positions reached via different move orders
+    private Node tree;  // Root of the previous search, reused for the next move
 
     public MCTSlightPlayer(String name, Color color) {
+        this(name, color, SearchBudget.time(TIMELIMIT));
+    }
+
+    /**
+     * Creates a player that searches within the given budget.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     */
+    public MCTSlightPlayer(String name, Color color, SearchBudget budget) {
+        this(name, color, budget, EXPLORATION);
+    }
+
+    /**
+     * Creates a player that searches within the given budget and explores
+     * with the given UCT constant.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     * @param exploration the exploration constant of UCT
+     */
+    public MCTSlightPlayer(String name, Color color, SearchBudget budget, double exploration) {
         super(name, color);
+        this.budget = budget;
+        this.exploration = exploration;
     }
 
     @Override
     public Move move(Game game) {
-        Node rootNode = new Node(game.clone());  // Create a root node with the current game state, no move or parent
+        List<Move> possibleMoves = Board.getPossibleMoves(game);
+        if (possibleMoves.size() == 1) {
+            // Forced move, no need to search; keep only the subtree of this position for the next search
+            this.tree = reuseTree(game);
+            return possibleMoves.get(0);
+        }
+        Node rootNode = reuseTree(game);  // Continue the previous search, or start a new one from the current game state
+        if (moveBuffer == null) {
+            moveBuffer = new int[BitBoard.MAX_MOVES];
+            scratch = new BitBoard();
+            undoStack = new ArrayList<>();
+            table = new TranspositionTable(TABLE_ENTRIES);
+        }
+        table.newSearch();
 
-        long startTime = System.currentTimeMillis();
+        long iterations = 0;
+        long nodes = 0;
+        budget.start();
 
-        while (System.currentTimeMillis() - startTime < TIMELIMIT) {
+        // A proven root needs no more search, e.g. when a move wins at once
+        while (rootNode.proven == Node.UNPROVEN && !budget.isExhausted(iterations, nodes)) {
             Node selectedNode = select(rootNode);
             Node child = expand(selectedNode);
-            int result = simulate(child);
+            if (child != selectedNode) {
+                nodes++;
+            }
+            int result = child.proven == Node.UNPROVEN ? simulate(child) : child.proven == Node.PROVEN_WIN ? 1 : 0;
             backpropagate(child, result);
+            iterations++;
         }
+        budget.finish();
 
+        this.tree = rootNode;
         // Step 5: Return the move from the most visited child node
         return getBestMove(rootNode).getEquivalentMove(game);
     }
 
+    /**
+     * Returns the node of the current position in the tree of the previous
+     * search, reached by our move and the opponent's reply. The rest of the
+     * old tree is released. Returns a new root node if the position is not
+     * in the tree.
+     *
+     * @param game the current game
+     * @return the root node for the search
+     */
+    private Node reuseTree(Game game) {
+        Node node = this.tree == null ? null : findNode(this.tree, game.getZobristKey(), 2);
+        this.tree = null;
+        if (node == null) {
+            return new Node(game.clone());
+        }
+        node.parent = null;
+        return node;
+    }
+
+    // Searches the position with the given Zobrist key up to the given depth below the node
+    private static Node findNode(Node node, long key, int depth) {
+        if (node.game.getZobristKey() == key) {
+            return node;
+        }
+        if (depth > 0) {
+            for (Node child : node.children) {
+                Node found = findNode(child, key, depth - 1);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
     // Step 1: Selection - Traverse the tree using UCT to find the best node to explore
     private Node select(Node node) {
-        while (!node.children.isEmpty() && node.children.size() == Board.getPossibleMoves(node.game).size()) {
-            node = bestUCT(node);
+        while (!node.children.isEmpty() && node.untriedMoves.isEmpty()) {
+            Node child = bestUCT(node);
+            if (child == null) {
+                break;  // All children are proven, so the node is proven as well
+            }
+            node = child;
         }
         return node;
         // while (!node.children.isEmpty()) {
@@ -48,21 +149,19 @@ public class MCTSlightPlayer extends Player {
         // return node;
     }
 
-    // Step 2: Expansion - Add a new child node for each possible move
+    // Step 2: Expansion - Add a new child node for one of the untried moves
     private Node expand(Node node) {
-        if (node.game.isGameOver()) {
+        if (node.game.isGameOver() || node.untriedMoves.isEmpty()) {
             return node;
         }
-        List<Move> possibleMoves = Board.getPossibleMoves(node.game);
-        List<Move> usedMoves = new ArrayList<>();
-        for (Node child : node.children) {
-            Move move = child.move;
-            Piece piece = move.getPiece().clone();
-            piece.setTile(move.getOrigin());
-            usedMoves.add(new Move(move.getCard(), piece, move.getMovementCopy(), move.getOrigin(), move.getTarget()));
-        }
-        possibleMoves.removeAll(usedMoves);
-        Move move = possibleMoves.get((int) (Math.random() * possibleMoves.size()));
+        // Take the untried move with the highest prior, moving the last one into its place
+        List<Move> untriedMoves = node.untriedMoves;
+        scratch.copyFrom(node.game);
+        int index = MoveHeuristic.indexOfBest(scratch, untriedMoves, this.getRandom());
+        Move move = untriedMoves.get(index);
+        untriedMoves.set(index, untriedMoves.get(untriedMoves.size() - 1));
+        untriedMoves.remove(untriedMoves.size() - 1);
+        double prior = MoveHeuristic.prior(scratch, move.toPacked());
         Game newGameState = node.game.clone();
         Card card = move.getCard().clone();
         // Map the original objects (piece, Card) in the move to the cloned game objects
@@ -81,6 +180,13 @@ public class MCTSlightPlayer extends Player {
 
         // Create a child node with the cloned game state
         Node childNode = new Node(newGameState, clonedMove, node);
+        childNode.prior = prior;
+        // Blend in the statistics of the same position reached via another move order, kept apart from the own visits
+        long entry = table.probe(newGameState.getZobristKey());
+        if (entry != TranspositionTable.MISS) {
+            childNode.tableVisits = Math.min(TranspositionTable.getVisits(entry), TABLE_VISITS);
+            childNode.tableWins = TranspositionTable.getWinRate(entry) * childNode.tableVisits;
+        }
         node.addChild(childNode);  // Add the new child node to the parent's children list
         return childNode;
         // List<Move> possibleMoves = Board.getPossibleMoves(node.game);
@@ -111,30 +217,41 @@ public class MCTSlightPlayer extends Player {
         if (node.game.isGameOver()) {
             return 1;
         }
-        Game tempGame = node.game.clone();
+        Game tempGame = node.game;  // Played in place and reverted afterwards
         Color currentPlayerColor = tempGame.getCurrentPlayer().getColor();
         Color previousPlayerColor = currentPlayerColor == Color.BLUE ? Color.RED : Color.BLUE;
+        undoStack.clear();
         while (!tempGame.isGameOver()) {
-            List<Move> possibleMoves = Board.getPossibleMoves(tempGame);
+            int moveCount = Board.getPossibleMoves(tempGame, moveBuffer);
             // Check if there are no possible moves
-            if (possibleMoves.isEmpty()) {
-                // Skip the turn if there are no possible moves (this is done by passing null)
-                tempGame.playTurn(null);
+            if (moveCount == 0) {
+                // Skip the turn if there are no possible moves by exchanging a random card
+                List<Card> cards = tempGame.getCurrentPlayer().getCards();
+                undoStack.add(tempGame.makePass(cards.get(this.getRandom().nextInt(cards.size()))));
                 // Continue the simulation
                 continue;
             }
-            Move randomMove = possibleMoves.get((int) (Math.random() * possibleMoves.size()));
-            tempGame.playTurn(randomMove);
+            int randomMove = moveBuffer[this.getRandom().nextInt(moveCount)];
+            undoStack.add(tempGame.makeMove(Move.fromPacked(tempGame, randomMove)));
         }
         // Winner of simulation = player at the parent node? If yes -> 1, else 0
-        return tempGame.getStatistics().getWinner().getColor() == previousPlayerColor ? 1 : 0;  // 1 for win, 0 for loss
+        int result = tempGame.getStatistics().getWinner().getColor() == previousPlayerColor ? 1 : 0;  // 1 for win, 0 for loss
+        for (int i = undoStack.size() - 1; i >= 0; i--) {
+            tempGame.unmakeMove(undoStack.get(i));
+        }
+        return result;
     }
 
-    // Step 4: Backpropagation - Update the current node and all ancestors with the result
+    // Step 4: Backpropagation - Update the current node and all ancestors with the result, and propagate proven results
     private void backpropagate(Node node, int result) {
+        boolean solved = node.proven != Node.UNPROVEN;  // The parent may be proven as well
         while (node != null) {
             node.visits++;
             node.wins += result;  // Adjust based on the result of the simulation
+            table.addResult(node.game.getZobristKey(), result);
+            if (solved && node.parent != null) {
+                solved = node.parent.updateProven();
+            }
             node = node.parent;
             result = 1 - result;  // Switch the result for the parent node
         }
@@ -146,7 +263,10 @@ public class MCTSlightPlayer extends Player {
         double bestUCTValue = Double.NEGATIVE_INFINITY;
 
         for (Node child : node.children) {
-            double uctValue = child.getUCTValue(this.getColor());
+            if (child.proven != Node.UNPROVEN) {
+                continue;  // Solved subtrees need no more simulations
+            }
+            double uctValue = child.getUCTValue(this.exploration, PRIOR_WEIGHT);
             if (uctValue > bestUCTValue) {
                 bestUCTValue = uctValue;
                 bestChild = child;
@@ -158,13 +278,18 @@ public class MCTSlightPlayer extends Player {
         return bestChild;
     }
 
-    // Step 5: Choose the best move based on the most visited child node
+    // Step 5: Choose a proven win, otherwise the most visited child node that is not a proven loss
     private Move getBestMove(Node rootNode) {
         Node bestNode = null;
         int mostVisits = Integer.MIN_VALUE;
 
         for (Node child : rootNode.children) {
-            if (child.visits > mostVisits) {
+            if (child.proven == Node.PROVEN_WIN) {
+                return child.move;
+            }
+            boolean lost = child.proven == Node.PROVEN_LOSS;
+            boolean bestLost = bestNode != null && bestNode.proven == Node.PROVEN_LOSS;
+            if (bestNode == null || (bestLost && !lost) || (bestLost == lost && child.visits > mostVisits)) {
                 mostVisits = child.visits;
                 bestNode = child;
             }
@@ -178,52 +303,6 @@ public class MCTSlightPlayer extends Player {
 
     @Override
     public Player clone() {
-        return new MCTSlightPlayer(this.getName(), this.getColor());
-    }
-}
-
-class Node {
-
-    Game game;  // Der aktuelle Zustand des Spiels in diesem Knoten
-    Node parent;  // Der Elternknoten
-    List<Node> children;  // Die Kindknoten
-    int visits = 0;  // Anzahl der Besuche dieses Knotens (MCTS)
-    int wins = 0;  // Anzahl der Siege aus diesem Knoten
-    Move move;  // Der Zug, der diesen Knoten erzeugt hat
-
-    // Konstruktor, der den Zug zusätzlich aufnimmt
-    Node(Game game, Move move, Node parent) {
-        this.game = game;
-        this.move = move;  // Speichern des Zugs, der zu diesem Knoten führt
-        this.parent = parent;  // Setzt den Elternknoten
-        this.children = new ArrayList<>();
-    }
-
-    // Konstruktor für den Wurzelknoten
-    Node(Game game) {
-        this.game = game;
-        this.move = null;  // Der Wurzelknoten hat keinen Zug
-        this.parent = null;  // Der Wurzelknoten hat keinen Elternknoten
-        this.children = new ArrayList<>();
-    }
-
-    // UCT-Wert (Upper Confidence Bound applied to Trees)
-    double getUCTValue(Color color) {
-        if (visits == 0) { // TODO: Check if this is correct
-            // return Double.MAX_VALUE;  // Return max value if the node has not been visited yet
-            return 0;
-        }
-        double exploitation = (double) wins / visits;
-
-        double exploration = Math.sqrt(Math.log(parent.visits) / visits);
-
-        double c = 0.25;
-
-        return exploitation + c * exploration;  // 1.41 is sqrt(2)
-    }
-
-    // Methode zum Hinzufügen eines Kindknotens
-    void addChild(Node child) {
-        this.children.add(child);
+        return new MCTSlightPlayer(this.getName(), this.getColor(), this.budget.copy(), this.exploration);
     }
 }
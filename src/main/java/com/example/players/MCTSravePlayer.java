@@ -0,0 +1,274 @@
+package com.example.players;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+/**
+ * An MCTS player with random playouts and rapid action value estimation
+ * (RAVE). Besides its own results, every node collects all-moves-as-first
+ * (AMAF) statistics: the results of all simulations through its parent in
+ * which its move was played later on by the same player, in the tree or
+ * in the playout. A single simulation thus informs many siblings.
+ *
+ * Selection blends the AMAF win rate with the node's own win rate. The
+ * weight of the AMAF value is {@code sqrt(k / (3 * visits + k))}, so it
+ * guides the first visits of a node and fades as its own statistics
+ * become reliable.
+ *
+ * The search runs on {@link BitBoard}s in a {@link NodeArena}, with the
+ * AMAF statistics kept in arrays of the same capacity. All children of a
+ * node are created at once when it is visited the second time, so that
+ * unvisited children already collect AMAF statistics.
+ */
+public class MCTSravePlayer extends Player {
+
+    private static final int TIMELIMIT = 2000;  // Time limit in milliseconds (2 seconds)
+    private static final int ARENA_NODES = 1 << 20;  // Maximum number of nodes in the tree
+    private static final double RAVE_EQUIVALENCE = 250;  // Visits at which own and AMAF statistics weigh about the same
+    private static final double FIRST_PLAY_URGENCY = 1;  // Value of a child without own and AMAF statistics
+    private static final double EXPLORATION = 0.25;  // Default exploration constant of UCT
+    private static final int MOVE_KEYS = 1 << 16;  // Number of different packed moves
+
+    private final SearchBudget budget;  // Decides when a search stops
+    private final double exploration;  // Exploration constant of UCT
+    private final int[] moves = new int[BitBoard.MAX_MOVES];  // Moves of the current position
+    private NodeArena arena;  // The tree, reused for every move
+    private int[] amafVisits;  // AMAF visits of each node in the arena
+    private double[] amafScore;  // AMAF results for the player who made the move of each node
+    private int[] playedMoves;  // Moves of the current simulation, from the root
+    private byte[] playedSides;  // Player who made each move of the current simulation
+    private int[] seen;  // Simulation stamp per player and packed move, marking the moves played below a node
+    private int stamp;  // Stamp of the current backpropagation
+
+    public MCTSravePlayer(String name, Color color) {
+        this(name, color, SearchBudget.time(TIMELIMIT));
+    }
+
+    /**
+     * Creates a player that searches within the given budget.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     */
+    public MCTSravePlayer(String name, Color color, SearchBudget budget) {
+        this(name, color, budget, EXPLORATION);
+    }
+
+    /**
+     * Creates a player that searches within the given budget and explores
+     * with the given UCT constant.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     * @param exploration the exploration constant of UCT
+     */
+    public MCTSravePlayer(String name, Color color, SearchBudget budget, double exploration) {
+        super(name, color);
+        this.budget = budget;
+        this.exploration = exploration;
+    }
+
+    @Override
+    public Move move(Game game) {
+        BitBoard root = game.toBitBoard();
+        int[] rootMoves = root.getPossibleMoves();
+        if (rootMoves.length == 1) {
+            return Move.fromPacked(game, rootMoves[0]);  // Forced move, no need to search
+        }
+        int rootNode = newTree();
+        BitBoard state = new BitBoard();
+        SplittableRandom random = this.getRandom();
+
+        long iterations = 0;
+        long nodes = 0;
+        budget.start();
+        while (!budget.isExhausted(iterations, nodes)) {
+            state.copyFrom(root);
+            int node = rootNode;
+            int length = 0;
+            // Selection
+            while (arena.getChildCount(node) > 0) {
+                node = bestChild(node);
+                length = play(state, arena.getMove(node), length);
+            }
+            // Expansion, on the second visit of a node
+            if ((node == rootNode || arena.getVisits(node) > 0) && !state.isGameOver()) {
+                int count = state.getPossibleMoves(moves);
+                if (expand(node, moves, count, state.getSideToMove()) != NodeArena.NONE) {
+                    nodes += count;
+                    node = bestChild(node);
+                    length = play(state, arena.getMove(node), length);
+                }
+            }
+            int treeLength = length;
+            // Simulation
+            while (!state.isGameOver()) {
+                int count = state.getPossibleMoves(moves);
+                length = play(state, moves[random.nextInt(count)], length);
+            }
+            backpropagate(node, treeLength, length, state.getWinner());
+            iterations++;
+        }
+        budget.finish();
+
+        // Choose the most visited child
+        int best = NodeArena.NONE;
+        int first = arena.getFirstChild(rootNode);
+        for (int child = first; child < first + arena.getChildCount(rootNode); child++) {
+            if (best == NodeArena.NONE || arena.getVisits(child) > arena.getVisits(best)) {
+                best = child;
+            }
+        }
+        return Move.fromPacked(game, best != NodeArena.NONE ? arena.getMove(best) : rootMoves[0]);
+    }
+
+    /**
+     * Starts a new tree, allocating the arena and the AMAF statistics on
+     * the first call.
+     *
+     * @return the root node
+     */
+    int newTree() {
+        if (arena == null) {
+            arena = new NodeArena(ARENA_NODES);
+            amafVisits = new int[ARENA_NODES];
+            amafScore = new double[ARENA_NODES];
+            playedMoves = new int[256];
+            playedSides = new byte[256];
+            seen = new int[2 * MOVE_KEYS];
+        }
+        int rootNode = arena.newRoot();
+        amafVisits[rootNode] = 0;
+        amafScore[rootNode] = 0;
+        return rootNode;
+    }
+
+    /**
+     * Adds all children of a node, with empty AMAF statistics.
+     *
+     * @param node the node
+     * @param moves the moves of the children
+     * @param count the number of moves
+     * @param mover the player making the moves
+     * @return the first child, or {@link NodeArena#NONE} if the arena is full
+     */
+    int expand(int node, int[] moves, int count, int mover) {
+        int first = arena.addChildren(node, moves, count, mover);
+        if (first != NodeArena.NONE) {
+            Arrays.fill(amafVisits, first, first + count, 0);
+            Arrays.fill(amafScore, first, first + count, 0);
+        }
+        return first;
+    }
+
+    // Plays a move and records it for the AMAF statistics
+    private int play(BitBoard state, int move, int length) {
+        length = record(move, state.getSideToMove(), length);
+        state.play(move);
+        return length;
+    }
+
+    /**
+     * Records a move of the current simulation for the AMAF statistics.
+     *
+     * @param move the packed move
+     * @param side the player making the move
+     * @param length the number of moves recorded so far
+     * @return the number of moves recorded now
+     */
+    int record(int move, int side, int length) {
+        if (length == playedMoves.length) {
+            playedMoves = Arrays.copyOf(playedMoves, length * 2);
+            playedSides = Arrays.copyOf(playedSides, length * 2);
+        }
+        playedMoves[length] = move;
+        playedSides[length] = (byte) side;
+        return length + 1;
+    }
+
+    /**
+     * Updates the nodes from the leaf to the root with the result of a
+     * simulation. Going up, the moves played below the current node are
+     * marked, and every child of the node whose move was played by the same
+     * player gets an AMAF update.
+     *
+     * @param node the leaf of the simulation
+     * @param treeLength the number of moves from the root to the leaf
+     * @param length the number of moves of the whole simulation
+     * @param winner the winner of the simulation
+     */
+    void backpropagate(int node, int treeLength, int length, int winner) {
+        stamp++;
+        for (int i = treeLength; i < length; i++) {
+            seen[playedSides[i] * MOVE_KEYS + playedMoves[i]] = stamp;
+        }
+        for (int depth = treeLength; node != NodeArena.NONE; depth--) {
+            arena.update(node, arena.getSide(node) == winner ? 1 : 0);
+            int first = arena.getFirstChild(node);
+            for (int child = first; child < first + arena.getChildCount(node); child++) {
+                int side = arena.getSide(child);
+                if (seen[side * MOVE_KEYS + arena.getMove(child)] == stamp) {
+                    amafVisits[child]++;
+                    amafScore[child] += side == winner ? 1 : 0;
+                }
+            }
+            if (depth > 0) {
+                seen[playedSides[depth - 1] * MOVE_KEYS + playedMoves[depth - 1]] = stamp;
+            }
+            node = arena.getParent(node);
+        }
+    }
+
+    // Helper function to get the best child based on UCT, blending the own and the AMAF win rate
+    private int bestChild(int node) {
+        int bestChild = NodeArena.NONE;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(arena.getVisits(node) + 1);
+        int first = arena.getFirstChild(node);
+        for (int child = first; child < first + arena.getChildCount(node); child++) {
+            int visits = arena.getVisits(child);
+            double amaf = amafVisits[child] > 0 ? amafScore[child] / amafVisits[child] : FIRST_PLAY_URGENCY;
+            double beta = beta(visits);
+            double own = visits > 0 ? arena.getScore(child) / visits : amaf;
+            double value = (1 - beta) * own + beta * amaf + this.exploration * Math.sqrt(logVisits / (visits + 1));
+            if (value > bestValue) {
+                bestValue = value;
+                bestChild = child;
+            }
+        }
+        return bestChild;
+    }
+
+    /**
+     * Returns the weight of the AMAF win rate of a node, which fades from 1
+     * towards 0 as the node collects its own visits.
+     *
+     * @param visits the own visits of the node
+     * @return the weight between 0 and 1
+     */
+    static double beta(int visits) {
+        return Math.sqrt(RAVE_EQUIVALENCE / (3 * visits + RAVE_EQUIVALENCE));
+    }
+
+    /**
+     * Returns the number of AMAF updates of a node.
+     *
+     * @param node the node
+     * @return the AMAF visits
+     */
+    int getAmafVisits(int node) {
+        return amafVisits[node];
+    }
+
+    @Override
+    public Player clone() {
+        return new MCTSravePlayer(this.getName(), this.getColor(), this.budget.copy(), this.exploration);
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.players;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+/**
+ * An MCTS player with random playouts that searches on several threads.
+ * Every worker builds its own tree from the same root position, and the
+ * visit counts of the root moves are summed over all trees before the most
+ * visited move is chosen. The workers share nothing while searching, so
+ * there is no synchronization apart from collecting the results.
+ *
+ * The calling thread is the first worker and searches within the
+ * {@link SearchBudget}. With a fixed number of iterations or nodes, every
+ * other worker gets the same budget for its own tree, so a seeded player
+ * makes the same moves on every machine. With a time budget, the other
+ * workers stop when the first one runs out of time.
+ *
+ * The search runs on {@link BitBoard}s and replays the moves from the root
+ * for every iteration. The trees are kept in one {@link NodeArena} per
+ * worker, which is allocated once, sized for the budget, and reused for
+ * every move. When an arena is full, the search continues with simulations
+ * from its leaves.
+ */
+public class MCTSrootParallelPlayer extends Player {
+
+    private static final int TIMELIMIT = 2000;  // Time limit in milliseconds (2 seconds)
+    private static final int ARENA_NODES = 1 << 19;  // Maximum number of nodes in the tree of each worker
+
+    private final SearchBudget budget;  // Decides when a search stops
+    private final int threads;  // Number of workers, the calling thread included, each searching its own tree
+    private ExecutorService executor;  // Runs the workers besides the calling thread, created on the first move
+    private NodeArena[] arenas;  // Node store of each worker, reused for every move
+
+    /**
+     * Creates a player with two seconds per move that searches on all
+     * cores. Meant for a single game per machine; when several games run
+     * at once, give every player a share of the cores instead.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     */
+    public MCTSrootParallelPlayer(String name, Color color) {
+        this(name, color, SearchBudget.time(TIMELIMIT), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a single-threaded player that searches within the given
+     * budget.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     */
+    public MCTSrootParallelPlayer(String name, Color color, SearchBudget budget) {
+        this(name, color, budget, 1);
+    }
+
+    /**
+     * Creates a player that searches within the given budget using the
+     * given number of workers.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     * @param threads the number of workers, the calling thread included
+     */
+    public MCTSrootParallelPlayer(String name, Color color, SearchBudget budget, int threads) {
+        super(name, color);
+        this.budget = budget;
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public Move move(Game game) {
+        BitBoard root = game.toBitBoard();
+        int[] rootMoves = root.getPossibleMoves();
+        if (rootMoves.length == 1) {
+            return Move.fromPacked(game, rootMoves[0]);
+        }
+        if (arenas == null) {
+            // The root and at most one expansion per iteration
+            int capacity = (int) Math.min(ARENA_NODES - 1, budget.getMaxNodes(BitBoard.MAX_MOVES)) + 1;
+            arenas = new NodeArena[threads];
+            for (int i = 0; i < threads; i++) {
+                arenas[i] = new NodeArena(capacity);
+            }
+        }
+        if (threads > 1 && executor == null) {
+            executor = Executors.newFixedThreadPool(threads - 1, runnable -> {
+                Thread thread = new Thread(runnable, getName() + "-mcts");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        SplittableRandom random = this.getRandom();
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            NodeArena arena = arenas[i];
+            SplittableRandom workerRandom = random.split();
+            // Fixed budgets are repeated in every tree, timed workers run until the first worker stops
+            SearchBudget workerBudget = budget.isTimed() ? null : budget.copy();
+            futures.add(executor.submit(() -> {
+                if (workerBudget != null) {
+                    workerBudget.start();
+                }
+                return search(arena, root, rootMoves, workerBudget, stop, workerRandom);
+            }));
+        }
+        long[] visits = new long[rootMoves.length];
+        budget.start();
+        try {
+            int[] mainVisits = search(arenas[0], root, rootMoves, budget, stop, random.split());
+            for (int i = 0; i < visits.length; i++) {
+                visits[i] = mainVisits[i];
+            }
+        } finally {
+            budget.finish();
+            stop.set(true);
+        }
+
+        // Merge the visit counts of the root moves over all trees
+        for (Future<int[]> future : futures) {
+            try {
+                int[] workerVisits = future.get();
+                for (int i = 0; i < visits.length; i++) {
+                    visits[i] += workerVisits[i];
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < visits.length; i++) {
+            if (visits[i] > visits[best]) {
+                best = i;
+            }
+        }
+        return Move.fromPacked(game, rootMoves[best]);
+    }
+
+    /**
+     * Runs a single-threaded MCTS search until the budget is used up, or
+     * without a budget until the search is stopped.
+     *
+     * @param arena the node store of this worker
+     * @param root the root position
+     * @param rootMoves the moves in the root position
+     * @param budget the started budget of this worker, or null
+     * @param stop set when a worker without a budget has to stop
+     * @param random the random generator of this worker
+     * @return the visits of each root move, in the order of rootMoves
+     */
+    private static int[] search(NodeArena arena, BitBoard root, int[] rootMoves, SearchBudget budget,
+            AtomicBoolean stop, SplittableRandom random) {
+        int rootNode = arena.newRoot();
+        BitBoard state = new BitBoard();
+        int[] moves = new int[BitBoard.MAX_MOVES];
+
+        long iterations = 0;
+        long nodes = 0;
+        while (budget != null ? !budget.isExhausted(iterations, nodes) : iterations == 0 || !stop.get()) {
+            state.copyFrom(root);
+            int node = rootNode;
+            // Selection
+            while (arena.isExpanded(node)) {
+                node = bestUCT(arena, node);
+                state.play(arena.getMove(node));
+            }
+            // Expansion, the children are shuffled so that they are simulated in random order
+            if (arena.getChildCount(node) == 0) {
+                int count = state.getPossibleMoves(moves);
+                for (int i = count - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int swap = moves[i];
+                    moves[i] = moves[j];
+                    moves[j] = swap;
+                }
+                if (arena.addChildren(node, moves, count, state.getSideToMove()) != NodeArena.NONE) {
+                    nodes += count;
+                }
+            }
+            int child = arena.nextUnexpanded(node);
+            if (child != NodeArena.NONE) {
+                node = child;
+                state.play(arena.getMove(node));
+            }
+            // Simulation
+            while (!state.isGameOver()) {
+                int count = state.getPossibleMoves(moves);
+                state.play(moves[random.nextInt(count)]);
+            }
+            // Backpropagation
+            int winner = state.getWinner();
+            for (; node != NodeArena.NONE; node = arena.getParent(node)) {
+                arena.update(node, arena.getSide(node) == winner ? 1 : 0);
+            }
+            iterations++;
+        }
+
+        int[] visits = new int[rootMoves.length];
+        int first = arena.getFirstChild(rootNode);
+        for (int child = first; child < first + arena.getChildCount(rootNode); child++) {
+            for (int i = 0; i < rootMoves.length; i++) {
+                if (rootMoves[i] == arena.getMove(child)) {
+                    visits[i] = arena.getVisits(child);
+                }
+            }
+        }
+        return visits;
+    }
+
+    // Helper function to get the best child based on UCT
+    private static int bestUCT(NodeArena arena, int node) {
+        int bestChild = NodeArena.NONE;
+        double bestUCTValue = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(arena.getVisits(node));
+        int first = arena.getFirstChild(node);
+        for (int child = first; child < first + arena.getChildCount(node); child++) {
+            int visits = arena.getVisits(child);
+            double uctValue = arena.getScore(child) / visits + 0.25 * Math.sqrt(logVisits / visits);
+            if (uctValue > bestUCTValue) {
+                bestUCTValue = uctValue;
+                bestChild = child;
+            }
+        }
+        return bestChild;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public Player clone() {
+        return new MCTSrootParallelPlayer(this.getName(), this.getColor(), this.budget.copy(), this.threads);
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.players;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+/**
+ * An MCTS player with random playouts where all worker threads search the
+ * same tree. The node statistics are updated atomically and no locks are
+ * taken:
+ *
+ * <ul>
+ * <li>A thread descending through a node adds a virtual loss to it, which
+ * lowers its UCT value until the simulation result is backpropagated, so
+ * that the other threads spread over different paths.</li>
+ * <li>The moves of a node are shuffled when it is created. A thread expands
+ * a node by claiming the next move with an atomic counter, so every move is
+ * expanded by exactly one thread. Children that are claimed but not yet
+ * published are skipped during selection.</li>
+ * </ul>
+ *
+ * The calling thread is the first worker and decides with the
+ * {@link SearchBudget} when the search stops; the iterations and nodes of
+ * all workers count towards the budget. The other workers stop when the
+ * first one does, so a fixed budget may be exceeded by the iterations that
+ * are still running at that moment.
+ */
+public class MCTStreeParallelPlayer extends Player {
+
+    private static final int TIMELIMIT = 2000;  // Time limit in milliseconds (2 seconds)
+    private static final double EXPLORATION = 0.25;  // Default exploration constant of UCT
+    private static final int VIRTUAL_LOSS = 3;  // Visits added to a node while a simulation through it is running
+
+    private final SearchBudget budget;  // Decides when a search stops
+    private final int threads;  // Number of workers searching the tree, the calling thread included
+    private final double exploration;  // Exploration constant of UCT
+    private ExecutorService executor;  // Runs the workers besides the calling thread, created on the first move
+    private long iterations;  // Iterations of the last search, all workers included
+
+    /**
+     * Creates a player with two seconds per move that searches on all
+     * cores. Meant for a single game per machine; when several games run
+     * at once, give every player a share of the cores instead.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     */
+    public MCTStreeParallelPlayer(String name, Color color) {
+        this(name, color, SearchBudget.time(TIMELIMIT), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a single-threaded player that searches within the given
+     * budget.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     */
+    public MCTStreeParallelPlayer(String name, Color color, SearchBudget budget) {
+        this(name, color, budget, 1);
+    }
+
+    /**
+     * Creates a player that searches within the given budget using the
+     * given number of workers.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     * @param threads the number of workers, the calling thread included
+     */
+    public MCTStreeParallelPlayer(String name, Color color, SearchBudget budget, int threads) {
+        this(name, color, budget, threads, EXPLORATION);
+    }
+
+    /**
+     * Creates a player that searches within the given budget using the
+     * given number of workers and explores with the given UCT constant.
+     *
+     * @param name the name of the player
+     * @param color the color of the player
+     * @param budget the budget of each search
+     * @param threads the number of workers, the calling thread included
+     * @param exploration the exploration constant of UCT
+     */
+    public MCTStreeParallelPlayer(String name, Color color, SearchBudget budget, int threads, double exploration) {
+        super(name, color);
+        this.budget = budget;
+        this.threads = Math.max(1, threads);
+        this.exploration = exploration;
+    }
+
+    @Override
+    public Move move(Game game) {
+        BitBoard root = game.toBitBoard();
+        SharedNode rootNode = new SharedNode(0, BitBoard.NONE, null, root, this.getRandom());
+        if (rootNode.moves.length == 1) {
+            return Move.fromPacked(game, rootNode.moves[0]);
+        }
+        search(rootNode, root);
+
+        // Choose the most visited child
+        SharedNode bestNode = null;
+        for (int i = 0; i < rootNode.moves.length; i++) {
+            SharedNode child = rootNode.children.get(i);
+            if (child != null && (bestNode == null || child.visits.get() > bestNode.visits.get())) {
+                bestNode = child;
+            }
+        }
+        return Move.fromPacked(game, bestNode != null ? bestNode.move : rootNode.moves[0]);
+    }
+
+    /**
+     * Searches the shared tree with all workers until the budget is used up.
+     *
+     * @param rootNode the root of the shared tree
+     * @param root the root position
+     */
+    void search(SharedNode rootNode, BitBoard root) {
+        if (threads > 1 && executor == null) {
+            executor = Executors.newFixedThreadPool(threads - 1, runnable -> {
+                Thread thread = new Thread(runnable, getName() + "-mcts");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicLong iterationCount = new AtomicLong();
+        AtomicLong nodeCount = new AtomicLong();
+        SplittableRandom random = this.getRandom();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            SplittableRandom workerRandom = random.split();
+            futures.add(executor.submit(() -> work(rootNode, root, exploration, workerRandom, iterationCount,
+                    nodeCount, () -> !stop.get())));
+        }
+        budget.start();
+        try {
+            work(rootNode, root, exploration, random.split(), iterationCount, nodeCount,
+                    () -> !budget.isExhausted(iterationCount.get(), nodeCount.get()));
+        } finally {
+            budget.finish();
+            stop.set(true);
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+        this.iterations = iterationCount.get();
+    }
+
+    /**
+     * Returns the number of iterations of the last search, all workers
+     * included.
+     *
+     * @return the iterations
+     */
+    long getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Runs MCTS iterations on the shared tree as long as the worker may go on.
+     *
+     * @param rootNode the root of the shared tree
+     * @param root the root position
+     * @param exploration the exploration constant of UCT
+     * @param random the random generator of this worker
+     * @param iterations counts the finished iterations of all workers
+     * @param nodes counts the nodes added by all workers
+     * @param running whether the worker may start another iteration
+     */
+    private static void work(SharedNode rootNode, BitBoard root, double exploration, SplittableRandom random,
+            AtomicLong iterations, AtomicLong nodes, BooleanSupplier running) {
+        BitBoard state = new BitBoard();
+        int[] moves = new int[BitBoard.MAX_MOVES];
+
+        while (running.getAsBoolean()) {
+            state.copyFrom(root);
+            SharedNode node = rootNode;
+            node.visits.addAndGet(VIRTUAL_LOSS);
+            // Selection
+            while (node.isExpanded()) {
+                SharedNode child = bestUCT(node, exploration);
+                if (child == null) {
+                    break;  // All children are still being created by other threads
+                }
+                node = child;
+                node.visits.addAndGet(VIRTUAL_LOSS);
+                state.play(node.move);
+            }
+            // Expansion
+            int slot = node.expanded.get() < node.moves.length ? node.expanded.getAndIncrement() : node.moves.length;
+            if (slot < node.moves.length) {
+                int side = state.getSideToMove();
+                state.play(node.moves[slot]);
+                SharedNode child = new SharedNode(node.moves[slot], side, node, state, random);
+                child.visits.addAndGet(VIRTUAL_LOSS);
+                node.children.set(slot, child);
+                node = child;
+                nodes.incrementAndGet();
+            }
+            // Simulation
+            while (!state.isGameOver()) {
+                int count = state.getPossibleMoves(moves);
+                state.play(moves[random.nextInt(count)]);
+            }
+            // Backpropagation, replacing the virtual loss by the real result
+            int winner = state.getWinner();
+            for (; node != null; node = node.parent) {
+                if (node.side == winner) {
+                    node.wins.incrementAndGet();
+                }
+                node.visits.addAndGet(1 - VIRTUAL_LOSS);
+            }
+            iterations.incrementAndGet();
+        }
+    }
+
+    // Helper function to get the best child based on UCT, counting virtual losses as visits
+    private static SharedNode bestUCT(SharedNode node, double exploration) {
+        SharedNode bestChild = null;
+        double bestUCTValue = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(node.visits.get());
+        for (int i = 0; i < node.moves.length; i++) {
+            SharedNode child = node.children.get(i);
+            if (child == null) {
+                continue;
+            }
+            int visits = child.visits.get();
+            double uctValue = (double) child.wins.get() / visits + exploration * Math.sqrt(logVisits / visits);
+            if (uctValue > bestUCTValue) {
+                bestUCTValue = uctValue;
+                bestChild = child;
+            }
+        }
+        return bestChild;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public Player clone() {
+        return new MCTStreeParallelPlayer(this.getName(), this.getColor(), this.budget.copy(), this.threads,
+                this.exploration);
+    }
+}
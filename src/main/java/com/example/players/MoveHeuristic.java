@@ -0,0 +1,117 @@
+package com.example.players;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Card;
+import com.example.logic.Move;
+
+/**
+ * A cheap estimate of how promising a move is, used as prior knowledge by
+ * the MCTS players before the statistics of a node are reliable. Winning
+ * moves get the highest prior, followed by captures, moves threatening the
+ * enemy master or temple, and master moves towards the enemy temple.
+ */
+public final class MoveHeuristic {
+
+    private static final double CAPTURE = 0.5;  // Prior of capturing a student
+    private static final double THREAT = 0.3;  // Prior of attacking the enemy master or temple with the next cards
+    private static final double ADVANCE = 0.05;  // Prior of each step the master gets closer to the enemy temple
+
+    private MoveHeuristic() {
+    }
+
+    /**
+     * Returns the prior of a move, between 0 and 1.
+     *
+     * @param board the position before the move
+     * @param move the packed move
+     * @return 1 for a winning move, lower values for less promising moves
+     */
+    public static double prior(BitBoard board, int move) {
+        if (BitBoard.isPass(move)) {
+            return 0;
+        }
+        int side = board.getSideToMove();
+        int enemy = side ^ 1;
+        int from = BitBoard.moveFrom(move);
+        int to = BitBoard.moveTo(move);
+        long target = 1L << to;
+        boolean masterMove = (board.getMaster(side) & (1L << from)) != 0;
+        long enemyTemple = 1L << enemyTemple(side);
+        if ((board.getMaster(enemy) & target) != 0 || (masterMove && (enemyTemple & target) != 0)) {
+            return 1;
+        }
+        double prior = 0;
+        if ((board.getPieces(enemy) & target) != 0) {
+            prior += CAPTURE;
+        }
+        if (isThreat(board, move, masterMove)) {
+            prior += THREAT;
+        }
+        if (masterMove) {
+            prior += ADVANCE * (templeDistance(from, side) - templeDistance(to, side));
+        }
+        return Math.max(0, Math.min(1, prior));
+    }
+
+    /**
+     * Returns the index of the move with the highest prior, choosing at
+     * random between moves with the same prior. The MCTS players expand the
+     * untried moves of a node in this order.
+     *
+     * @param board the position before the moves
+     * @param moves the moves
+     * @param random decides between moves with the same prior
+     * @return the index of the best move, or -1 if there are no moves
+     */
+    public static int indexOfBest(BitBoard board, List<Move> moves, SplittableRandom random) {
+        int best = -1;
+        double bestPrior = Double.NEGATIVE_INFINITY;
+        int ties = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            double prior = prior(board, moves.get(i).toPacked());
+            if (prior > bestPrior) {
+                best = i;
+                bestPrior = prior;
+                ties = 1;
+            } else if (prior == bestPrior && random.nextInt(++ties) == 0) {
+                best = i;  // Every tied move is chosen with the same probability
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns whether the moved piece attacks the enemy master, or the
+     * master the enemy temple, with the cards held after the move: the
+     * unused one and the neutral card.
+     *
+     * @param board the position before the move
+     * @param move the packed move
+     * @param masterMove whether the move is made by the master
+     * @return true if the move threatens to win
+     */
+    static boolean isThreat(BitBoard board, int move, boolean masterMove) {
+        int side = board.getSideToMove();
+        int card = BitBoard.moveCard(move);
+        int keptCard = board.getCard(side, 0) == card ? board.getCard(side, 1) : board.getCard(side, 0);
+        int to = BitBoard.moveTo(move);
+        long targets = Card.getTargets(keptCard, side, to) | Card.getTargets(board.getNeutralCard(), side, to);
+        return (targets & board.getMaster(side ^ 1)) != 0
+                || (masterMove && (targets & (1L << enemyTemple(side))) != 0);
+    }
+
+    // The square of the temple a player has to reach
+    static int enemyTemple(int side) {
+        return side == BitBoard.BLUE ? BitBoard.RED_TEMPLE : BitBoard.BLUE_TEMPLE;
+    }
+
+    // Number of king moves from a square to the temple the player has to reach
+    static int templeDistance(int square, int side) {
+        int temple = enemyTemple(side);
+        return Math.max(Math.abs(BitBoard.getX(square) - BitBoard.getX(temple)),
+                Math.abs(BitBoard.getY(square) - BitBoard.getY(temple)));
+    }
+}
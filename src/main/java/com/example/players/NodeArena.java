@@ -0,0 +1,172 @@
+package com.example.players;
+
+/**
+ * A fixed-capacity store for MCTS nodes. The fields of the nodes are kept in
+ * parallel primitive arrays indexed by the node number, so a tree of any size
+ * consists of a handful of arrays allocated once and reused for every search.
+ *
+ * The nodes hold no game state. A search replays the packed moves (see
+ * {@link com.example.logic.BitBoard}) from the root to reach the position of
+ * a node. The children of a node are allocated as one contiguous block
+ * when the node is expanded, and are handed out for simulation one at a
+ * time with {@link #nextUnexpanded(int)}.
+ */
+public class NodeArena {
+
+    public static final int NONE = -1;  // Index of a missing node, e.g. the parent of the root
+
+    private final int[] parent;  // Index of the parent node
+    private final int[] firstChild;  // Index of the first child, the children are stored consecutively
+    private final char[] childCount;  // Number of children
+    private final char[] expanded;  // Number of children handed out by nextUnexpanded
+    private final char[] move;  // Packed move leading to the node
+    private final byte[] side;  // Player who made the move
+    private final int[] visits;  // Number of visits
+    private final double[] score;  // Sum of the simulation results for the player who made the move
+    private int size;  // Number of nodes in use
+
+    /**
+     * Creates an arena holding up to the given number of nodes.
+     *
+     * @param capacity the maximum number of nodes
+     */
+    public NodeArena(int capacity) {
+        this.parent = new int[capacity];
+        this.firstChild = new int[capacity];
+        this.childCount = new char[capacity];
+        this.expanded = new char[capacity];
+        this.move = new char[capacity];
+        this.side = new byte[capacity];
+        this.visits = new int[capacity];
+        this.score = new double[capacity];
+    }
+
+    /**
+     * Removes all nodes and creates a new root node.
+     *
+     * @return the index of the root node
+     */
+    public int newRoot() {
+        this.size = 0;
+        int root = this.size++;
+        init(root, NONE, 0, -1);
+        return root;
+    }
+
+    /**
+     * Adds the children of a node that has none yet.
+     *
+     * @param node the node
+     * @param moves the packed moves of the children
+     * @param count the number of moves
+     * @param mover the player making the moves
+     * @return the index of the first child, or {@link #NONE} if there is no
+     * space left in the arena or count is 0
+     */
+    public int addChildren(int node, int[] moves, int count, int mover) {
+        if (count == 0 || this.size + count > this.parent.length) {
+            return NONE;
+        }
+        int first = this.size;
+        for (int i = 0; i < count; i++) {
+            init(first + i, node, moves[i], mover);
+        }
+        this.size += count;
+        this.firstChild[node] = first;
+        this.childCount[node] = (char) count;
+        return first;
+    }
+
+    /**
+     * Hands out the next child of a node that has not been simulated yet.
+     *
+     * @param node the node
+     * @return the index of the child, or {@link #NONE} if all children have
+     * been handed out
+     */
+    public int nextUnexpanded(int node) {
+        if (this.expanded[node] == this.childCount[node]) {
+            return NONE;
+        }
+        return this.firstChild[node] + this.expanded[node]++;
+    }
+
+    /**
+     * Returns whether the node has children and all of them have been handed
+     * out by {@link #nextUnexpanded(int)}.
+     *
+     * @param node the node
+     * @return true if the search has to select among the children
+     */
+    public boolean isExpanded(int node) {
+        return this.childCount[node] > 0 && this.expanded[node] == this.childCount[node];
+    }
+
+    /**
+     * Adds a visit with the given simulation result to a node.
+     *
+     * @param node the node
+     * @param result the result for the player who made the move
+     */
+    public void update(int node, double result) {
+        this.visits[node]++;
+        this.score[node] += result;
+    }
+
+    public int getParent(int node) {
+        return this.parent[node];
+    }
+
+    public int getFirstChild(int node) {
+        return this.firstChild[node];
+    }
+
+    public int getChildCount(int node) {
+        return this.childCount[node];
+    }
+
+    public int getMove(int node) {
+        return this.move[node];
+    }
+
+    public int getSide(int node) {
+        return this.side[node];
+    }
+
+    public int getVisits(int node) {
+        return this.visits[node];
+    }
+
+    public double getScore(int node) {
+        return this.score[node];
+    }
+
+    /**
+     * Returns the number of nodes in use.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the maximum number of nodes.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return this.parent.length;
+    }
+
+    private void init(int node, int parent, int move, int mover) {
+        this.parent[node] = parent;
+        this.firstChild[node] = NONE;
+        this.childCount[node] = 0;
+        this.expanded[node] = 0;
+        this.move[node] = (char) move;
+        this.side[node] = (byte) mover;
+        this.visits[node] = 0;
+        this.score[node] = 0;
+    }
+}
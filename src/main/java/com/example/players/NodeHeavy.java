@@ -0,0 +1,97 @@
+package com.example.players;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.logic.Board;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+class NodeHeavy {
+
+    static final int UNPROVEN = 0;  // The result of the node is not known yet
+    static final int PROVEN_WIN = 1;  // The player who made the move wins with best play
+    static final int PROVEN_LOSS = -1;  // The player who made the move loses with best play
+
+    Game game;  // Der aktuelle Zustand des Spiels in diesem Knoten
+    NodeHeavy parent;  // Der Elternknoten
+    List<NodeHeavy> children;  // Die Kindknoten
+    List<Move> untriedMoves;  // Die noch nicht expandierten Züge
+    int visits = 0;  // Anzahl der Besuche dieses Knotens (MCTS)
+    double score = 0;  // Anzahl der Siege aus diesem Knoten
+    Move move;  // Der Zug, der diesen Knoten erzeugt hat
+    int proven;  // Proven result for the player who made the move, one of the constants above
+    double prior;  // Heuristic prior of the move between 0 and 1, see MoveHeuristic
+    int tableVisits;  // Visits of the same position in the transposition table when the node was created
+    double tableScore;  // Score of the same position in the transposition table when the node was created
+
+    // Konstruktor, der den Zug zusätzlich aufnimmt
+    NodeHeavy(Game game, Move move, NodeHeavy parent) {
+        this.game = game;
+        this.move = move;  // Speichern des Zugs, der zu diesem Knoten führt
+        this.parent = parent;  // Setzt den Elternknoten
+        this.children = new ArrayList<>();
+        this.untriedMoves = game.isGameOver() ? new ArrayList<>() : Board.getPossibleMoves(game);
+        this.proven = game.isGameOver() ? PROVEN_WIN : UNPROVEN;  // The game ends with the move of the winner
+    }
+
+    // Konstruktor für den Wurzelknoten
+    NodeHeavy(Game game) {
+        this.game = game;
+        this.move = null;  // Der Wurzelknoten hat keinen Zug
+        this.parent = null;  // Der Wurzelknoten hat keinen Elternknoten
+        this.children = new ArrayList<>();
+        this.untriedMoves = game.isGameOver() ? new ArrayList<>() : Board.getPossibleMoves(game);
+    }
+
+    /**
+     * Returns the UCT value with progressive bias: the prior of the move
+     * is added with a weight that decreases with the visits, so it guides
+     * the first visits until the statistics take over. The win rate blends
+     * the own results with those the transposition table held for the
+     * position; the exploration term only counts the own visits.
+     *
+     * @param c the exploration constant
+     * @param priorWeight the weight of the prior
+     * @return the value of the node for the selection
+     */
+    double getUCTValue(double c, double priorWeight) {
+        // Children are selected only after all moves are expanded, and every expanded child has a visit
+        double bias = priorWeight * prior / (visits + 1);
+        double exploitation = (score + tableScore) / (visits + tableVisits);
+
+        double exploration = Math.sqrt(Math.log(parent.visits) / visits);
+
+        return exploitation + c * exploration + bias;
+    }
+
+    // Methode zum Hinzufügen eines Kindknotens
+    void addChild(NodeHeavy child) {
+        this.children.add(child);
+    }
+
+    /**
+     * Updates the proven result from the children: the node is lost if the
+     * opponent has a winning reply, and won if all replies are tried and
+     * lose.
+     *
+     * @return true if the result of the node is proven
+     */
+    boolean updateProven() {
+        if (proven != UNPROVEN) {
+            return true;
+        }
+        boolean allLost = untriedMoves.isEmpty() && !children.isEmpty();
+        for (NodeHeavy child : children) {
+            if (child.proven == PROVEN_WIN) {
+                proven = PROVEN_LOSS;
+                return true;
+            }
+            allLost &= child.proven == PROVEN_LOSS;
+        }
+        if (allLost) {
+            proven = PROVEN_WIN;
+        }
+        return allLost;
+    }
+}
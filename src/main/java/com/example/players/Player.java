@@ -2,6 +2,8 @@ package com.example.players;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+
 import com.example.logic.Card;
 import com.example.logic.Color;
 import com.example.logic.Game;
@@ -17,6 +19,7 @@ public abstract class Player {
     private final Color color; // The color of the player's pieces
     private List<Piece> pieces; // The pieces owned by the player
     private List<Card> cards; // The movement cards held by the player
+    private SplittableRandom random; // Source of the player's random decisions, created on first use if not set
 
     public Player(String name, Color color) {
         this.name = name;
@@ -42,6 +45,13 @@ public abstract class Player {
     @Override
     public abstract Player clone();
 
+    /**
+     * Releases the resources held by the player, e.g. search threads. The
+     * player must not be used afterwards.
+     */
+    public void close() {
+    }
+
     /**
      * Get the name of the player.
      *
@@ -105,4 +115,36 @@ public abstract class Player {
         this.cards = movementCards;
     }
 
+    /**
+     * Get the random generator used for the player's decisions. Without a
+     * seed, an unseeded generator is created on first use.
+     *
+     * @return The random generator of the player.
+     */
+    public SplittableRandom getRandom() {
+        if (this.random == null) {
+            this.random = new SplittableRandom();
+        }
+        return this.random;
+    }
+
+    /**
+     * Set the random generator used for the player's decisions.
+     *
+     * @param random The random generator of the player.
+     */
+    public void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Seed the random generator of the player, so that its decisions can be
+     * replayed.
+     *
+     * @param seed The seed of the random generator.
+     */
+    public void setSeed(long seed) {
+        setRandom(new SplittableRandom(seed));
+    }
+
 }
@@ -29,14 +29,13 @@ public class RandomPlayer extends Player {
         // If there are any possible moves
         if (!moves.isEmpty()) {
             // Generate a random index within the range of possible moves
-            int randomIndex = (int) (Math.random() * moves.size());
+            int randomIndex = this.getRandom().nextInt(moves.size());
 
             // Return the randomly selected move
             return moves.get(randomIndex);
         }
 
         // If there are no possible moves, return null
-        System.out.println(game.getBoard());
         return null;
     }
 
@@ -0,0 +1,170 @@
+package com.example.players;
+
+/**
+ * Decides when a search stops. A budget is either a fixed number of
+ * iterations, a fixed number of new tree nodes, a fixed time per move, or a
+ * time bank for the whole game of which every move gets a share.
+ *
+ * Fixed iterations and nodes give the same search on every machine, e.g.
+ * for benchmarks and tournaments. The time based budgets read the clock
+ * only about once per millisecond, based on the number of iterations done
+ * since the search started.
+ *
+ * A budget keeps the state of the current search and the time bank, so
+ * every player needs its own instance (see {@link #copy()}).
+ */
+public class SearchBudget {
+
+    private static final long CHECK_INTERVAL = 1_000_000;  // Nanoseconds between two clock checks
+    private static final int MOVES_TO_GO = 20;  // Number of moves the time bank is shared by
+
+    private enum Type {
+        ITERATIONS, NODES, TIME, TIME_BANK
+    }
+
+    private final Type type;  // What is limited
+    private final long limit;  // Iterations, nodes, or milliseconds per move or per game
+    private long bank;  // Remaining time of the time bank in nanoseconds
+    private long startTime;  // Start of the current search in nanoseconds
+    private long deadline;  // End of the current search in nanoseconds
+    private long nextCheck;  // Iteration at which the clock is read next
+
+    private SearchBudget(Type type, long limit) {
+        this.type = type;
+        this.limit = limit;
+        this.bank = type == Type.TIME_BANK ? limit * 1_000_000 : 0;
+    }
+
+    /**
+     * Creates a budget of a fixed number of iterations per move.
+     *
+     * @param iterations the number of iterations
+     * @return the budget
+     */
+    public static SearchBudget iterations(long iterations) {
+        return new SearchBudget(Type.ITERATIONS, iterations);
+    }
+
+    /**
+     * Creates a budget of a fixed number of new tree nodes per move.
+     *
+     * @param nodes the number of nodes
+     * @return the budget
+     */
+    public static SearchBudget nodes(long nodes) {
+        return new SearchBudget(Type.NODES, nodes);
+    }
+
+    /**
+     * Creates a budget of a fixed time per move.
+     *
+     * @param millis the time per move in milliseconds
+     * @return the budget
+     */
+    public static SearchBudget time(long millis) {
+        return new SearchBudget(Type.TIME, millis);
+    }
+
+    /**
+     * Creates a time bank for the whole game. Every move may use a fixed
+     * share of the remaining time, and the time actually used is taken from
+     * the bank.
+     *
+     * @param millis the time for the game in milliseconds
+     * @return the budget
+     */
+    public static SearchBudget timeBank(long millis) {
+        return new SearchBudget(Type.TIME_BANK, millis);
+    }
+
+    /**
+     * Starts a search.
+     */
+    public void start() {
+        this.startTime = System.nanoTime();
+        this.nextCheck = 1;
+        this.deadline = switch (this.type) {
+            case TIME -> this.startTime + this.limit * 1_000_000;
+            case TIME_BANK -> this.startTime + this.bank / MOVES_TO_GO;
+            default -> Long.MAX_VALUE;
+        };
+    }
+
+    /**
+     * Returns whether the search has to stop. A search always runs at least
+     * one iteration.
+     *
+     * @param iterations the number of iterations done
+     * @param nodes the number of nodes added to the tree
+     * @return true if the budget is used up
+     */
+    public boolean isExhausted(long iterations, long nodes) {
+        if (iterations == 0) {
+            return false;
+        }
+        return switch (this.type) {
+            case ITERATIONS -> iterations >= this.limit;
+            case NODES -> nodes >= this.limit;
+            default -> isTimeUp(iterations);
+        };
+    }
+
+    private boolean isTimeUp(long iterations) {
+        if (iterations < this.nextCheck) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (now - this.deadline >= 0) {
+            return true;
+        }
+        // Read the clock again after about CHECK_INTERVAL, estimated from the speed so far
+        long interval = Math.min(CHECK_INTERVAL, this.deadline - now);
+        this.nextCheck = iterations + Math.max(1, iterations * interval / Math.max(1, now - this.startTime));
+        return false;
+    }
+
+    /**
+     * Ends a search and takes the time used from the time bank.
+     */
+    public void finish() {
+        if (this.type == Type.TIME_BANK) {
+            this.bank = Math.max(0, this.bank - (System.nanoTime() - this.startTime));
+        }
+    }
+
+    /**
+     * Returns whether the budget limits the time rather than the work, so
+     * that a search within it depends on the speed of the machine.
+     *
+     * @return true for the time based budgets
+     */
+    public boolean isTimed() {
+        return this.type == Type.TIME || this.type == Type.TIME_BANK;
+    }
+
+    /**
+     * Returns an upper bound of the tree nodes a search adds within this
+     * budget, e.g. to size a {@link NodeArena}.
+     *
+     * @param nodesPerIteration the maximum number of nodes one iteration adds
+     * @return the bound, or {@code Long.MAX_VALUE} for the time based budgets
+     */
+    public long getMaxNodes(long nodesPerIteration) {
+        return switch (this.type) {
+            case ITERATIONS -> this.limit > Long.MAX_VALUE / nodesPerIteration
+                    ? Long.MAX_VALUE : this.limit * nodesPerIteration;
+            case NODES -> this.limit > Long.MAX_VALUE - nodesPerIteration
+                    ? Long.MAX_VALUE : this.limit + nodesPerIteration;  // The last iteration may go past the limit
+            default -> Long.MAX_VALUE;
+        };
+    }
+
+    /**
+     * Returns a budget of the same kind and size with a full time bank.
+     *
+     * @return the new budget
+     */
+    public SearchBudget copy() {
+        return new SearchBudget(this.type, this.limit);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.players;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.example.logic.BitBoard;
+
+class SharedNode {
+
+    final int move;  // The packed move leading to this node
+    final int side;  // The player who made the move
+    final SharedNode parent;  // The parent node
+    final int[] moves;  // The moves of this position in random order
+    final AtomicReferenceArray<SharedNode> children;  // The child for each move, null until published
+    final AtomicInteger expanded = new AtomicInteger();  // Number of moves claimed for expansion
+    final AtomicInteger visits = new AtomicInteger();  // Number of visits, including virtual losses
+    final AtomicInteger wins = new AtomicInteger();  // Number of simulations won by the player who made the move
+
+    SharedNode(int move, int side, SharedNode parent, BitBoard state, SplittableRandom random) {
+        this.move = move;
+        this.side = side;
+        this.parent = parent;
+        this.moves = state.getPossibleMoves();
+        for (int i = moves.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = moves[i];
+            moves[i] = moves[j];
+            moves[j] = swap;
+        }
+        this.children = new AtomicReferenceArray<>(moves.length);
+    }
+
+    // All moves have been claimed for expansion
+    boolean isExpanded() {
+        return moves.length > 0 && expanded.get() >= moves.length;
+    }
+}
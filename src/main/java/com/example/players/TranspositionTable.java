@@ -0,0 +1,200 @@
+package com.example.players;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A fixed-size transposition table keyed by Zobrist keys (see
+ * {@link com.example.logic.Zobrist}). Each entry is two longs: the key XOR
+ * the data, and the data itself. The data packs the best move, a score, the
+ * search depth, the bound type, the table age and a visit count.
+ *
+ * The table is lock-free and can be shared by several search threads. A
+ * reader that sees a key and data written by different threads gets a
+ * mismatching key and treats the entry as a miss. Single stores are safe
+ * from any thread, but {@link #addResult(long, double)} must have a single
+ * writer.
+ *
+ * Entries are grouped in buckets of two. A new entry replaces the entry of
+ * the same position, an empty entry, or otherwise the entry from an older
+ * search or with the smaller depth and visit count.
+ */
+public class TranspositionTable {
+
+    public static final long MISS = 0; // Returned by probe if the position is not in the table
+    public static final int BOUND_EXACT = 1; // The score is exact
+    public static final int BOUND_LOWER = 2; // The score is a lower bound
+    public static final int BOUND_UPPER = 3; // The score is an upper bound
+    public static final int SCORE_SCALE = 10000; // Scale of win rates stored with storeStatistics
+
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] table; // Key XOR data and data for each entry
+    private final int mask; // Number of entries - 1
+    private volatile int age; // Age of the current search, stored in new entries
+
+    /**
+     * Creates a table with the given number of entries, rounded down to a
+     * power of two.
+     *
+     * @param entries the number of entries, at least 2
+     */
+    public TranspositionTable(int entries) {
+        int size = Integer.highestOneBit(Math.max(2, entries));
+        this.table = new long[size * 2];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Starts a new search. Entries of earlier searches are replaced first.
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & 0x3F;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            ENTRIES.setOpaque(table, i, 0L);
+        }
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key the Zobrist key of the position
+     * @return the data of the entry, or {@link #MISS} if there is none
+     */
+    public long probe(long key) {
+        int bucket = (int) key & mask & ~1;
+        for (int i = bucket; i <= bucket + 1; i++) {
+            long data = (long) ENTRIES.getOpaque(table, 2 * i + 1);
+            long storedKey = (long) ENTRIES.getOpaque(table, 2 * i) ^ data;
+            if (storedKey == key && data != MISS) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores a position.
+     *
+     * @param key the Zobrist key of the position
+     * @param move the best move as a packed move, or 0
+     * @param score the score, between -32768 and 32767
+     * @param depth the search depth, between 0 and 255
+     * @param bound the type of the score, one of the BOUND constants
+     * @param visits the number of visits, saturated at 65535
+     */
+    public void store(long key, int move, int score, int depth, int bound, int visits) {
+        long data = (move & 0xFFFFL)
+                | ((score & 0xFFFFL) << 16)
+                | ((long) Math.min(depth, 0xFF) << 32)
+                | ((long) bound << 40)
+                | ((long) age << 42)
+                | ((long) Math.min(visits, 0xFFFF) << 48);
+        int bucket = (int) key & mask & ~1;
+        int replace = bucket;
+        int lowestWorth = Integer.MAX_VALUE;
+        for (int i = bucket; i <= bucket + 1; i++) {
+            long storedData = (long) ENTRIES.getOpaque(table, 2 * i + 1);
+            long storedKey = (long) ENTRIES.getOpaque(table, 2 * i) ^ storedData;
+            if (storedData == MISS || storedKey == key) {
+                replace = i;
+                break;
+            }
+            int worth = (getAge(storedData) == age ? 0x200 : 0) + getDepth(storedData)
+                    + (32 - Integer.numberOfLeadingZeros(getVisits(storedData)));
+            if (worth < lowestWorth) {
+                lowestWorth = worth;
+                replace = i;
+            }
+        }
+        ENTRIES.setOpaque(table, 2 * replace, key ^ data);
+        ENTRIES.setOpaque(table, 2 * replace + 1, data);
+    }
+
+    /**
+     * Stores the MCTS statistics of a position.
+     *
+     * @param key the Zobrist key of the position
+     * @param visits the number of visits of the position
+     * @param score the sum of the simulation results
+     */
+    public void storeStatistics(long key, int visits, double score) {
+        if (visits > 0) {
+            store(key, 0, (int) Math.round(score / visits * SCORE_SCALE), 0, BOUND_EXACT, visits);
+        }
+    }
+
+    /**
+     * Adds the result of one simulation to the MCTS statistics of a
+     * position. Every simulation is counted once, however many tree nodes
+     * hold the position. Once the visits are saturated, the win rate becomes
+     * a moving average.
+     *
+     * The update is a probe followed by a store, not an atomic
+     * read-modify-write: two threads adding results to the same position
+     * can lose one of them. Only one thread may update the statistics of a
+     * table, as the light and heavy MCTS players do; other threads may
+     * still probe it.
+     *
+     * @param key the Zobrist key of the position
+     * @param result the simulation result, between 0 and 1
+     */
+    public void addResult(long key, double result) {
+        long entry = probe(key);
+        int visits = entry == MISS ? 0 : getVisits(entry);
+        double score = entry == MISS ? 0 : getWinRate(entry) * visits;
+        double winRate = (score + result) / (visits + 1);
+        int newVisits = Math.min(visits + 1, 0xFFFF);
+        storeStatistics(key, newVisits, winRate * newVisits);
+    }
+
+    /**
+     * Returns the number of entries in the table.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return mask + 1;
+    }
+
+    public static int getMove(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int getScore(long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int getDepth(long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    public static int getBound(long data) {
+        return (int) ((data >>> 40) & 0x3);
+    }
+
+    public static int getAge(long data) {
+        return (int) ((data >>> 42) & 0x3F);
+    }
+
+    public static int getVisits(long data) {
+        return (int) (data >>> 48);
+    }
+
+    /**
+     * Returns the win rate of an entry stored with
+     * {@link #storeStatistics(long, int, double)}.
+     *
+     * @param data the data of the entry
+     * @return the win rate between 0 and 1
+     */
+    public static double getWinRate(long data) {
+        return (double) getScore(data) / SCORE_SCALE;
+    }
+}
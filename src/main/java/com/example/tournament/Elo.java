@@ -0,0 +1,76 @@
+package com.example.tournament;
+
+/**
+ * Estimates the Elo difference between two players from the results of
+ * their games. Onitama has no draws, so a result is a win or a loss.
+ */
+public final class Elo {
+
+    private static final double Z_95 = 1.959964; // Quantile of the normal distribution for 95% confidence
+
+    private Elo() {
+    }
+
+    /**
+     * Returns the expected score of a player with the given Elo advantage.
+     *
+     * @param elo the Elo difference
+     * @return the expected score between 0 and 1
+     */
+    public static double expectedScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * Returns the Elo difference that corresponds to the given score.
+     *
+     * @param score the score between 0 and 1
+     * @return the Elo difference, infinite for a score of 0 or 1
+     */
+    public static double fromScore(double score) {
+        return -400 * Math.log10(1 / score - 1);
+    }
+
+    /**
+     * Returns the estimated Elo difference of a player.
+     *
+     * @param wins the games won by the player
+     * @param losses the games lost by the player
+     * @return the Elo difference, or 0 if no games were played
+     */
+    public static double difference(int wins, int losses) {
+        int games = wins + losses;
+        return games == 0 ? 0 : fromScore((double) wins / games);
+    }
+
+    /**
+     * Returns half the width of the 95% confidence interval of the Elo
+     * difference, using the normal approximation of the score.
+     *
+     * @param wins the games won by the player
+     * @param losses the games lost by the player
+     * @return the error margin, infinite if there are too few results
+     */
+    public static double errorMargin(int wins, int losses) {
+        int games = wins + losses;
+        if (wins == 0 || losses == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double score = (double) wins / games;
+        double deviation = Math.sqrt(score * (1 - score) / games);
+        double low = Math.max(score - Z_95 * deviation, Double.MIN_VALUE);
+        double high = Math.min(score + Z_95 * deviation, 1 - Math.ulp(1.0));
+        return (fromScore(high) - fromScore(low)) / 2;
+    }
+
+    /**
+     * Formats the Elo difference and its error margin, e.g. "+35.2 +/- 20.1".
+     *
+     * @param wins the games won by the player
+     * @param losses the games lost by the player
+     * @return the formatted difference
+     */
+    public static String format(int wins, int losses) {
+        return String.format("%+.1f +/- %.1f", difference(wins, losses), errorMargin(wins, losses));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.tournament;
+
+/**
+ * A sequential probability ratio test deciding between two hypotheses
+ * about the Elo difference of two players: H0, the difference is elo0, and
+ * H1, the difference is elo1. After every game the log-likelihood ratio of
+ * the results is compared to bounds given by the error rates, so a match
+ * can stop as soon as the result is clear instead of after a fixed number
+ * of games.
+ *
+ * Games played in pairs with the same cards and swapped colors are not
+ * independent, so they are tested by the score of each finished pair
+ * instead, see {@link #getPairStatus(int, int, int)}.
+ */
+public class Sprt {
+
+    /**
+     * The state of the test.
+     */
+    public enum Status {
+        CONTINUE, ACCEPT_H0, ACCEPT_H1
+    }
+
+    private static final double PRIOR_PAIRS = 0.5; // Pairs added to every outcome for the variance, so that it stays positive
+
+    private final double elo0; // Elo difference of H0
+    private final double elo1; // Elo difference of H1
+    private final double lowerBound; // H0 is accepted below this log-likelihood ratio
+    private final double upperBound; // H1 is accepted above this log-likelihood ratio
+
+    /**
+     * Creates a test.
+     *
+     * @param elo0 the Elo difference of H0
+     * @param elo1 the Elo difference of H1, greater than elo0
+     * @param alpha the probability of accepting H1 if H0 is true
+     * @param beta the probability of accepting H0 if H1 is true
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (elo1 <= elo0) {
+            throw new IllegalArgumentException("elo1 must be greater than elo0");
+        }
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Returns the log-likelihood ratio of H1 against H0 for the results.
+     *
+     * @param wins the games won by the player
+     * @param losses the games lost by the player
+     * @return the log-likelihood ratio
+     */
+    public double getLogLikelihoodRatio(int wins, int losses) {
+        double p0 = Elo.expectedScore(this.elo0);
+        double p1 = Elo.expectedScore(this.elo1);
+        return wins * Math.log(p1 / p0) + losses * Math.log((1 - p1) / (1 - p0));
+    }
+
+    /**
+     * Returns whether a hypothesis can be accepted after the results.
+     *
+     * @param wins the games won by the player
+     * @param losses the games lost by the player
+     * @return the state of the test
+     */
+    public Status getStatus(int wins, int losses) {
+        return decide(getLogLikelihoodRatio(wins, losses));
+    }
+
+    /**
+     * Returns the log-likelihood ratio of H1 against H0 for the results of
+     * game pairs. Each pair scores half a point per game the player won,
+     * and the ratio is the normal approximation of the generalized SPRT
+     * with the observed mean and variance of the pair scores.
+     *
+     * @param lostBoth the pairs in which the player lost both games
+     * @param split the pairs in which the player won one game
+     * @param wonBoth the pairs in which the player won both games
+     * @return the log-likelihood ratio
+     */
+    public double getPairLogLikelihoodRatio(int lostBoth, int split, int wonBoth) {
+        int pairs = lostBoth + split + wonBoth;
+        if (pairs == 0) {
+            return 0;
+        }
+        double mean = (0.5 * split + wonBoth) / pairs;
+        double variance = ((lostBoth + PRIOR_PAIRS) * mean * mean
+                + (split + PRIOR_PAIRS) * (0.5 - mean) * (0.5 - mean)
+                + (wonBoth + PRIOR_PAIRS) * (1 - mean) * (1 - mean)) / (pairs + 3 * PRIOR_PAIRS);
+        double s0 = Elo.expectedScore(this.elo0);
+        double s1 = Elo.expectedScore(this.elo1);
+        return pairs * (s1 - s0) * (2 * mean - s0 - s1) / (2 * variance);
+    }
+
+    /**
+     * Returns whether a hypothesis can be accepted after the results of
+     * game pairs.
+     *
+     * @param lostBoth the pairs in which the player lost both games
+     * @param split the pairs in which the player won one game
+     * @param wonBoth the pairs in which the player won both games
+     * @return the state of the test
+     */
+    public Status getPairStatus(int lostBoth, int split, int wonBoth) {
+        return decide(getPairLogLikelihoodRatio(lostBoth, split, wonBoth));
+    }
+
+    private Status decide(double llr) {
+        if (llr >= this.upperBound) {
+            return Status.ACCEPT_H1;
+        }
+        if (llr <= this.lowerBound) {
+            return Status.ACCEPT_H0;
+        }
+        return Status.CONTINUE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SPRT(elo0=%.1f, elo1=%.1f, bounds=[%.2f, %.2f])", this.elo0, this.elo1,
+                this.lowerBound, this.upperBound);
+    }
+}
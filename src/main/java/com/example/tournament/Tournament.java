@@ -0,0 +1,126 @@
+package com.example.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.players.Player;
+
+/**
+ * Plays many games between two kinds of players at the same time. The
+ * players are created for every game by factories taking the name and the
+ * color, e.g. {@code MCTSlightPlayer::new}, and closed after the game.
+ * Since several games run at once, players that search on several threads
+ * should get an explicit share of the cores, e.g.
+ * {@code (name, color) -> new AlphaBetaPlayer(name, color, SearchBudget.time(100), 1)}.
+ *
+ * Games are played in pairs with the same cards, where the first player is
+ * blue in the first game of the pair and red in the second, so neither
+ * player profits from the cards or the color. A {@link Sprt} on the
+ * finished pairs can stop the tournament as soon as the result is clear.
+ */
+public class Tournament {
+
+    private final BiFunction<String, Color, Player> first; // Creates the first player of every game
+    private final BiFunction<String, Color, Player> second; // Creates the second player of every game
+    private final int threads; // Number of games played at the same time, or 0 for a virtual thread per game
+
+    /**
+     * Creates a tournament between two kinds of players.
+     *
+     * @param first the factory of the first player
+     * @param second the factory of the second player
+     * @param threads the number of games played at the same time, or 0 to
+     * play every game on its own virtual thread, e.g. for players that wait
+     * for a server
+     */
+    public Tournament(BiFunction<String, Color, Player> first, BiFunction<String, Color, Player> second,
+            int threads) {
+        this.first = first;
+        this.second = second;
+        this.threads = threads;
+    }
+
+    /**
+     * Plays the given number of games with random cards.
+     *
+     * @param games the number of games
+     * @return the results
+     */
+    public TournamentResult run(int games) {
+        return run(games, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Plays the given number of games. The cards and the random decisions
+     * of the games and players are determined by the seed.
+     *
+     * @param games the number of games
+     * @param seed the seed
+     * @return the results
+     */
+    public TournamentResult run(int games, long seed) {
+        return run(games, seed, null);
+    }
+
+    /**
+     * Plays games until the SPRT accepts a hypothesis about the Elo
+     * difference of the first player, or the maximum number of games has
+     * been played. Games that are already running when the test stops are
+     * finished and counted.
+     *
+     * @param maxGames the maximum number of games
+     * @param seed the seed
+     * @param sprt the test, or null to play all games
+     * @return the results
+     */
+    public TournamentResult run(int maxGames, long seed, Sprt sprt) {
+        TournamentResult result = new TournamentResult(sprt);
+        try (ExecutorService executor = this.threads > 0
+                ? Executors.newFixedThreadPool(this.threads)
+                : Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < maxGames; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> playGame(index, seed, result)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    result.addError();
+                    e.getCause().printStackTrace();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    private void playGame(int index, long seed, TournamentResult result) {
+        if (result.getStatus() != Sprt.Status.CONTINUE) {
+            return;  // The test has already decided
+        }
+        boolean firstIsBlue = index % 2 == 0;
+        Player blue = (firstIsBlue ? this.first : this.second).apply("BLUE", Color.BLUE);
+        Player red = (firstIsBlue ? this.second : this.first).apply("RED", Color.RED);
+        try {
+            // Both games of a pair use the same seed and therefore the same cards
+            Game game = new Game(blue, red, seed + index / 2);
+            long start = System.nanoTime();
+            game.start();
+            result.add(game.getStatistics(), (System.nanoTime() - start) / 1_000_000, index / 2, firstIsBlue);
+        } finally {
+            blue.close();
+            red.close();
+        }
+    }
+}
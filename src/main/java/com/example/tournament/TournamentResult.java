@@ -0,0 +1,160 @@
+package com.example.tournament;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.example.logic.Color;
+import com.example.logic.Statistics;
+import com.example.logic.StatisticsAccumulator;
+
+/**
+ * The results of a {@link Tournament}, seen from the first player. The games
+ * report their results from several threads: the statistics of the games
+ * are collected in a {@link StatisticsAccumulator} without locking, only the
+ * wins of the two players and the state of the SPRT are synchronized.
+ *
+ * The SPRT is updated whenever both games of a pair have finished, with
+ * the number of games of the pair the first player won.
+ */
+public class TournamentResult {
+
+    private final StatisticsAccumulator statistics = new StatisticsAccumulator(); // Statistics of all games
+    private int games; // Number of finished games
+    private int firstWins; // Games won by the first player
+    private int secondWins; // Games won by the second player
+    private int errors; // Games that failed with an exception
+    private final int[] pairs = new int[3]; // Finished pairs by the number of games the first player won
+    private final Map<Integer, Boolean> unpaired = new HashMap<>(); // Whether the first player won, for pairs with one finished game
+    private final Sprt sprt; // Decides when the tournament can stop, or null to play all games
+    private Sprt.Status status = Sprt.Status.CONTINUE; // State of the SPRT after the finished games
+
+    /**
+     * Creates an empty result.
+     *
+     * @param sprt the test deciding when the tournament can stop, or null
+     */
+    TournamentResult(Sprt sprt) {
+        this.sprt = sprt;
+    }
+
+    /**
+     * Adds the result of a finished game.
+     *
+     * @param game the statistics of the game
+     * @param durationMillis the duration of the game in milliseconds
+     * @param pair the index of the pair of the game
+     * @param firstIsBlue whether the first player played blue
+     */
+    void add(Statistics game, long durationMillis, int pair, boolean firstIsBlue) {
+        this.statistics.record(game, durationMillis);
+        addWin(pair, game.getWinner().getColor() == Color.BLUE == firstIsBlue);
+    }
+
+    private synchronized void addWin(int pair, boolean firstWon) {
+        this.games++;
+        if (firstWon) {
+            this.firstWins++;
+        } else {
+            this.secondWins++;
+        }
+        Boolean otherWon = this.unpaired.remove(pair);
+        if (otherWon == null) {
+            this.unpaired.put(pair, firstWon);
+            return;  // The other game of the pair is still running
+        }
+        this.pairs[(firstWon ? 1 : 0) + (otherWon ? 1 : 0)]++;
+        if (this.sprt != null && this.status == Sprt.Status.CONTINUE) {
+            this.status = this.sprt.getPairStatus(this.pairs[0], this.pairs[1], this.pairs[2]);
+        }
+    }
+
+    /**
+     * Counts a game that failed with an exception.
+     */
+    synchronized void addError() {
+        this.errors++;
+    }
+
+    /**
+     * Returns the totals of all finished games.
+     *
+     * @return the totals
+     */
+    public Statistics getStatistics() {
+        return this.statistics.snapshot();
+    }
+
+    /**
+     * Returns the accumulated statistics of all finished games, including
+     * the histograms.
+     *
+     * @return the accumulated statistics
+     */
+    public StatisticsAccumulator getAccumulator() {
+        return this.statistics;
+    }
+
+    public synchronized int getGames() {
+        return this.games;
+    }
+
+    public synchronized int getFirstWins() {
+        return this.firstWins;
+    }
+
+    public synchronized int getSecondWins() {
+        return this.secondWins;
+    }
+
+    public int getBlueWins() {
+        return (int) this.statistics.getBlueWins();
+    }
+
+    public int getRedWins() {
+        return (int) this.statistics.getRedWins();
+    }
+
+    /**
+     * Returns the number of finished pairs in which the first player won
+     * the given number of games.
+     *
+     * @param firstWins the games of the pair won by the first player, 0 to 2
+     * @return the number of pairs
+     */
+    public synchronized int getPairs(int firstWins) {
+        return this.pairs[firstWins];
+    }
+
+    public synchronized int getErrors() {
+        return this.errors;
+    }
+
+    /**
+     * Returns the state of the SPRT. Without a test the tournament always
+     * continues.
+     *
+     * @return the state of the test
+     */
+    public synchronized Sprt.Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Returns the estimated Elo difference of the first player.
+     *
+     * @return the Elo difference
+     */
+    public synchronized double getEloDifference() {
+        return Elo.difference(this.firstWins, this.secondWins);
+    }
+
+    /**
+     * Returns half the width of the 95% confidence interval of the Elo
+     * difference.
+     *
+     * @return the error margin
+     */
+    public synchronized double getEloErrorMargin() {
+        return Elo.errorMargin(this.firstWins, this.secondWins);
+    }
+}
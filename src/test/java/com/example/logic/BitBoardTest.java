@@ -0,0 +1,92 @@
+package com.example.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.example.Perft;
+
+/**
+ * Checks that the BitBoard engine agrees with the object based game logic.
+ */
+public class BitBoardTest {
+
+    private static final int GAMES = 200; // Number of random games to compare
+
+    @Test
+    public void conversionRoundTrip() {
+        Game game = new Game(1);
+        BitBoard bitBoard = game.toBitBoard();
+        assertEquals(bitBoard, new Game(bitBoard).toBitBoard());
+        assertEquals(game.getBoard().toString(), bitBoard.toString());
+        BitBoard parsed = BitBoard.fromPositionString(bitBoard.toPositionString());
+        assertEquals(bitBoard, parsed);
+        assertEquals(bitBoard.getZobristKey(), parsed.getZobristKey());
+    }
+
+    @Test
+    public void perftMatchesGame() {
+        for (int i = 0; i < 5; i++) {
+            Game game = new Game(i);
+            assertEquals(Perft.perft(game, 3), Perft.perft(game.toBitBoard(), 3));
+        }
+    }
+
+    @Test
+    public void movesAndResultsMatchGame() {
+        for (int i = 0; i < GAMES; i++) {
+            Game game = new Game(i);
+            SplittableRandom random = new SplittableRandom(i);
+            BitBoard bitBoard = game.toBitBoard();
+            while (!game.isGameOver()) {
+                List<Move> moves = Board.getPossibleMoves(game);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                int[] expected = moves.stream().mapToInt(Move::toPacked).sorted().toArray();
+                int[] actual = bitBoard.getPossibleMoves();
+                Arrays.sort(actual);
+                assertTrue(Arrays.equals(expected, actual));
+                int[] buffer = new int[BitBoard.MAX_MOVES];
+                int[] packed = Arrays.copyOf(buffer, Board.getPossibleMoves(game, buffer));
+                Arrays.sort(packed);
+                assertTrue(Arrays.equals(expected, packed));
+
+                Move move = moves.get(random.nextInt(moves.size()));
+                assertEquals(move, Move.fromPacked(game, move.toPacked()));
+                bitBoard.play(move.toPacked());
+                game.playTurn(move);
+                assertEquals(game.toBitBoard(), bitBoard);
+                assertEquals(game.getZobristKey(), bitBoard.getZobristKey());
+                assertEquals(Zobrist.hash(bitBoard), bitBoard.getZobristKey());
+            }
+        }
+    }
+
+    @Test
+    public void passKeepsTheChosenCard() {
+        Game game = new Game(2);
+        BitBoard bitBoard = game.toBitBoard();
+        int side = bitBoard.getSideToMove();
+        int from = Long.numberOfTrailingZeros(bitBoard.getPieces(side));
+        for (int slot = 0; slot < 2; slot++) {
+            int card = bitBoard.getCard(side, slot);
+            Game passGame = game.clone();
+            BitBoard passBoard = new BitBoard(bitBoard);
+            int pass = BitBoard.encodeMove(from, from, card);
+            Move move = Move.fromPacked(passGame, pass);
+            assertTrue(move.isPass());
+            assertEquals(pass, move.toPacked());
+            passBoard.play(pass);
+            passGame.playTurn(move);
+            assertEquals(card, passGame.getNeutralCard().getId());
+            assertEquals(passBoard, passGame.toBitBoard());
+            assertEquals(passBoard.getZobristKey(), passGame.getZobristKey());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.example.players.Player;
+import com.example.players.RandomPlayer;
+
+/**
+ * Unit tests for the in place move handling of {@link Game}.
+ */
+public class GameTest {
+
+    private static final int GAMES = 100; // Number of random games to play
+
+    @Test
+    public void makeMoveMatchesPlayTurn() {
+        for (int i = 0; i < GAMES; i++) {
+            Game game = new Game(i);
+            SplittableRandom random = new SplittableRandom(i);
+            while (!game.isGameOver()) {
+                List<Move> moves = Board.getPossibleMoves(game);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                Move move = moves.get(random.nextInt(moves.size()));
+                Game clone = game.clone();
+                clone.playTurn(move.getEquivalentMove(clone));
+                game.makeMove(move);
+                assertEquals(clone.toBitBoard(), game.toBitBoard());
+                assertEquals(clone.isGameOver(), game.isGameOver());
+                assertEquals(Zobrist.hash(game), game.getZobristKey());
+                assertEquals(Zobrist.hash(clone), clone.getZobristKey());
+            }
+        }
+    }
+
+    @Test
+    public void unmakeMoveRestoresGame() {
+        for (int i = 0; i < GAMES; i++) {
+            Game game = new Game(i);
+            SplittableRandom random = new SplittableRandom(i);
+            BitBoard initial = game.toBitBoard();
+            long initialKey = game.getZobristKey();
+            List<Card> blueCards = new ArrayList<>(game.getPlayerBlue().getCards());
+            List<Piece> redPieces = new ArrayList<>(game.getPlayerRed().getPieces());
+            List<UndoRecord> undoStack = new ArrayList<>();
+            while (!game.isGameOver()) {
+                List<Move> moves = Board.getPossibleMoves(game);
+                if (moves.isEmpty()) {
+                    undoStack.add(game.makePass(game.getCurrentPlayer().getCards().get(0)));
+                    continue;
+                }
+                undoStack.add(game.makeMove(moves.get(random.nextInt(moves.size()))));
+            }
+            for (int j = undoStack.size() - 1; j >= 0; j--) {
+                game.unmakeMove(undoStack.get(j));
+            }
+            assertFalse(game.isGameOver());
+            assertEquals(initial, game.toBitBoard());
+            assertEquals(initialKey, game.getZobristKey());
+            assertEquals(blueCards, game.getPlayerBlue().getCards());
+            assertEquals(redPieces, game.getPlayerRed().getPieces());
+            for (Piece piece : game.getPlayerRed().getPieces()) {
+                assertSame(piece, piece.getTile().getPiece());
+            }
+        }
+    }
+
+    @Test
+    public void seededGamesAreReplayable() {
+        List<BitBoard> positions = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            Game game = new Game(42);
+            Player blue = new RandomPlayer("BLUE", Color.BLUE);
+            Player red = new RandomPlayer("RED", Color.RED);
+            blue.setSeed(1);
+            red.setSeed(2);
+            for (int ply = 0; ply < 200 && !game.isGameOver(); ply++) {
+                Player player = game.getCurrentPlayer().getColor() == Color.BLUE ? blue : red;
+                game.playTurn(Board.getPossibleMoves(game).isEmpty() ? null : player.move(game));
+            }
+            positions.add(game.toBitBoard());
+        }
+        assertEquals(positions.get(0), positions.get(1));
+    }
+}
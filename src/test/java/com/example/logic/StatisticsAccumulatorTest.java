@@ -0,0 +1,70 @@
+package com.example.logic;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.example.players.RandomPlayer;
+
+/**
+ * Unit tests for {@link StatisticsAccumulator} and {@link Histogram}.
+ */
+public class StatisticsAccumulatorTest {
+
+    private static final int GAMES = 20; // Number of random games to play
+
+    @Test
+    public void mergeMatchesRecordingAllGames() {
+        StatisticsAccumulator all = new StatisticsAccumulator();
+        StatisticsAccumulator first = new StatisticsAccumulator();
+        StatisticsAccumulator second = new StatisticsAccumulator();
+        long totalMoves = 0;
+        long capturedBluePieces = 0;
+        double possibleMoves = 0;  // Weighted by the moves of each game
+        for (int i = 0; i < GAMES; i++) {
+            Game game = new Game(new RandomPlayer("BLUE", Color.BLUE), new RandomPlayer("RED", Color.RED), i);
+            game.start();
+            Statistics statistics = game.getStatistics();
+            totalMoves += statistics.getTotalMoves();
+            capturedBluePieces += statistics.getCapturedBluePieces();
+            possibleMoves += statistics.getPossibleMoves() * statistics.getTotalMoves();
+            all.record(statistics, i);
+            (i % 2 == 0 ? first : second).record(statistics, i);
+        }
+        first.merge(second);
+
+        for (StatisticsAccumulator accumulator : new StatisticsAccumulator[] {all, first}) {
+            Statistics snapshot = accumulator.snapshot();
+            assertEquals(GAMES, accumulator.getGames());
+            assertEquals(GAMES, accumulator.getBlueWins() + accumulator.getRedWins());
+            assertEquals(totalMoves, snapshot.getTotalMoves());
+            assertEquals(capturedBluePieces, snapshot.getCapturedBluePieces());
+            assertEquals(possibleMoves / totalMoves, snapshot.getPossibleMoves(), 1e-9);
+            assertEquals(GAMES, accumulator.getMovesPerGame().getCount());
+            assertEquals(totalMoves, accumulator.getMovesPerGame().getSum());
+        }
+        long cardUses = 0;
+        for (int id = 0; id < Card.getDeckSize(); id++) {
+            assertEquals(all.getCardUsage(id), first.getCardUsage(id));
+            cardUses += all.getCardUsage(id);
+        }
+        assertEquals(totalMoves, cardUses);
+    }
+
+    @Test
+    public void histogramPercentilesUseBucketBounds() {
+        Histogram histogram = new Histogram(10, 10);
+        for (int value = 0; value < 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(49, histogram.getPercentile(50));
+        assertEquals(89, histogram.getPercentile(90));
+        assertEquals(99, histogram.getPercentile(100));
+        histogram.record(1000);
+        assertEquals(101, histogram.getCount());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(10, histogram.getBucketCount(0));
+        assertEquals(11, histogram.getBucketCount(9));
+        assertEquals(1000, histogram.getPercentile(100));
+    }
+}
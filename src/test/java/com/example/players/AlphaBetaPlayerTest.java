@@ -0,0 +1,51 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+/**
+ * Unit tests for {@link AlphaBetaPlayer}.
+ */
+public class AlphaBetaPlayerTest {
+
+    @Test
+    public void capturesTheMasterWhenPossible() {
+        Game game = new Game(BitBoard.fromPositionString(TestPositions.WIN_IN_ONE));
+        Move move = new AlphaBetaPlayer("BLUE", Color.BLUE, SearchBudget.nodes(10000)).move(game);
+        assertEquals(1, move.getTarget().getX());
+        assertEquals(3, move.getTarget().getY());
+    }
+
+    @Test
+    public void parallelSearchCapturesTheMaster() {
+        Game game = new Game(BitBoard.fromPositionString(TestPositions.WIN_IN_ONE));
+        AlphaBetaPlayer player = new AlphaBetaPlayer("BLUE", Color.BLUE, SearchBudget.time(50), 4);
+        try {
+            Move move = player.move(game);
+            assertEquals(1, move.getTarget().getX());
+            assertEquals(3, move.getTarget().getY());
+        } finally {
+            player.close();
+        }
+    }
+
+    @Test
+    public void evaluationSeesWinsInOneMove() {
+        BitBoard board = BitBoard.fromPositionString(TestPositions.WIN_IN_ONE);
+        assertEquals(AlphaBetaSearch.WIN - 1, AlphaBetaSearch.evaluate(board, 0));
+    }
+
+    @Test
+    public void nodeBudgetGivesReproducibleMoves() {
+        Game game = new Game(3);
+        Move first = new AlphaBetaPlayer("P", game.getCurrentPlayer().getColor(), SearchBudget.nodes(20000)).move(game);
+        Move second = new AlphaBetaPlayer("P", game.getCurrentPlayer().getColor(), SearchBudget.nodes(20000)).move(game);
+        assertEquals(first.toPacked(), second.toPacked());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.example.logic.BitBoard;
+
+/**
+ * Unit tests for {@link HeavyPlayoutPolicy}.
+ */
+public class HeavyPlayoutPolicyTest {
+
+    @Test
+    public void prefersWinningMovesOverCaptures() {
+        HeavyPlayoutPolicy policy = new HeavyPlayoutPolicy(new SplittableRandom(1));
+        BitBoard board = BitBoard.fromPositionString(TestPositions.WIN_IN_ONE);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(BitBoard.square(1, 3), BitBoard.moveTo(policy.selectMove(board)));
+        }
+    }
+
+    @Test
+    public void prefersCapturesOverQuietMoves() {
+        HeavyPlayoutPolicy policy = new HeavyPlayoutPolicy(new SplittableRandom(1));
+        BitBoard board = BitBoard.fromPositionString(
+                "b..B.../r....../......./......./......./......./...R... b Boar,Crab Tiger,Ox Eel");
+        for (int i = 0; i < 20; i++) {
+            assertEquals(BitBoard.square(1, 0), BitBoard.moveTo(policy.selectMove(board)));
+        }
+    }
+
+    @Test
+    public void playoutStopsAtTheEndOfTheGameOrTheMoveLimit() {
+        HeavyPlayoutPolicy policy = new HeavyPlayoutPolicy(new SplittableRandom(1));
+        BitBoard board = BitBoard.fromPositionString(
+                "bbbBbbb/......./......./......./......./......./rrrRrrr b Boar,Crab Tiger,Ox Eel");
+        assertEquals(3, policy.playout(new BitBoard(board), 3));
+        int played = policy.playout(board, 1000);
+        assertTrue(board.isGameOver());
+        assertTrue(played < 1000);
+    }
+}
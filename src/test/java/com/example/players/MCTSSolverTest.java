@@ -0,0 +1,46 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+/**
+ * Unit tests for the proven results of the MCTS players.
+ */
+public class MCTSSolverTest {
+
+    @Test(timeout = 10000)
+    public void lightPlayerStopsAtAProvenWin() {
+        Game game = new Game(BitBoard.fromPositionString(TestPositions.WIN_IN_ONE));
+        Move move = new MCTSlightPlayer("BLUE", Color.BLUE, SearchBudget.iterations(Long.MAX_VALUE)).move(game);
+        assertEquals(1, move.getTarget().getX());
+        assertEquals(3, move.getTarget().getY());
+    }
+
+    @Test(timeout = 10000)
+    public void heavyPlayerStopsAtAProvenWin() {
+        Game game = new Game(BitBoard.fromPositionString(TestPositions.WIN_IN_ONE));
+        Move move = new MCTSheavyPlayer("BLUE", Color.BLUE, SearchBudget.iterations(Long.MAX_VALUE)).move(game);
+        assertEquals(1, move.getTarget().getX());
+        assertEquals(3, move.getTarget().getY());
+    }
+
+    @Test
+    public void winningReplyProvesTheLoss() {
+        Node root = new Node(new Game(BitBoard.fromPositionString(TestPositions.WIN_IN_ONE)));
+        assertEquals(Node.UNPROVEN, root.proven);
+        assertFalse(root.updateProven());
+        Node child = new Node(new Game(BitBoard.fromPositionString(TestPositions.WIN_IN_ONE)), null, root);
+        child.proven = Node.PROVEN_WIN;
+        root.addChild(child);
+        assertTrue(root.updateProven());
+        assertEquals(Node.PROVEN_LOSS, root.proven);
+    }
+}
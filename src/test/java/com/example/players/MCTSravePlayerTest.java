@@ -0,0 +1,62 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+/**
+ * Unit tests for {@link MCTSravePlayer}.
+ */
+public class MCTSravePlayerTest {
+
+    @Test
+    public void capturesTheMasterWhenPossible() {
+        Game game = new Game(BitBoard.fromPositionString(TestPositions.WIN_IN_ONE));
+        MCTSravePlayer player = new MCTSravePlayer("BLUE", Color.BLUE, SearchBudget.iterations(2000));
+        player.setSeed(1);
+        Move move = player.move(game);
+        assertEquals(1, move.getTarget().getX());
+        assertEquals(3, move.getTarget().getY());
+    }
+
+    @Test
+    public void seededSearchesAreReplayable() {
+        Game game = new Game(5);
+        int[] moves = new int[2];
+        for (int i = 0; i < moves.length; i++) {
+            MCTSravePlayer player = new MCTSravePlayer("P", game.getCurrentPlayer().getColor(),
+                    SearchBudget.iterations(2000));
+            player.setSeed(7);
+            moves[i] = player.move(game).toPacked();
+        }
+        assertEquals(moves[0], moves[1]);
+    }
+
+    @Test
+    public void laterMovesOfTheSamePlayerUpdateTheSiblings() {
+        MCTSravePlayer player = new MCTSravePlayer("P", Color.BLUE, SearchBudget.iterations(1));
+        int root = player.newTree();
+        // Blue can play 1, 2 or 3; the simulation plays 1 (blue), 3 (red), 2 (blue)
+        int first = player.expand(root, new int[] {1, 2, 3}, 3, BitBoard.BLUE);
+        int length = player.record(1, BitBoard.BLUE, 0);
+        length = player.record(3, BitBoard.RED, length);
+        length = player.record(2, BitBoard.BLUE, length);
+        player.backpropagate(first, 1, length, BitBoard.BLUE);
+        assertEquals(1, player.getAmafVisits(first));
+        assertEquals(1, player.getAmafVisits(first + 1));
+        assertEquals(0, player.getAmafVisits(first + 2));  // Only red played 3
+    }
+
+    @Test
+    public void amafWeightFadesWithOwnVisits() {
+        assertEquals(1, MCTSravePlayer.beta(0), 0);
+        assertTrue(MCTSravePlayer.beta(100) < MCTSravePlayer.beta(10));
+        assertTrue(MCTSravePlayer.beta(100000) < 0.05);
+    }
+}
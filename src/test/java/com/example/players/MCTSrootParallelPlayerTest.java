@@ -0,0 +1,30 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.example.logic.Game;
+
+/**
+ * Unit tests for {@link MCTSrootParallelPlayer}.
+ */
+public class MCTSrootParallelPlayerTest {
+
+    @Test
+    public void iterationBudgetGivesReproducibleMoves() {
+        Game game = new Game(5);
+        int[] moves = new int[2];
+        for (int i = 0; i < moves.length; i++) {
+            MCTSrootParallelPlayer player = new MCTSrootParallelPlayer("P", game.getCurrentPlayer().getColor(),
+                    SearchBudget.iterations(2000), 3);
+            player.setSeed(7);
+            try {
+                moves[i] = player.move(game).toPacked();
+            } finally {
+                player.close();
+            }
+        }
+        assertEquals(moves[0], moves[1]);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Color;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+/**
+ * Unit tests for {@link MCTStreeParallelPlayer}.
+ */
+public class MCTStreeParallelPlayerTest {
+
+    @Test(timeout = 10000)
+    public void capturesTheMasterWhenPossible() {
+        Game game = new Game(BitBoard.fromPositionString(TestPositions.WIN_IN_ONE));
+        MCTStreeParallelPlayer player = new MCTStreeParallelPlayer("BLUE", Color.BLUE,
+                SearchBudget.iterations(2000), 4);
+        player.setSeed(1);
+        try {
+            Move move = player.move(game);
+            assertEquals(1, move.getTarget().getX());
+            assertEquals(3, move.getTarget().getY());
+        } finally {
+            player.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void workersLeaveNoVirtualLoss() {
+        BitBoard root = new Game(5).toBitBoard();
+        MCTStreeParallelPlayer player = new MCTStreeParallelPlayer("P", Color.BLUE, SearchBudget.iterations(5000), 4);
+        SharedNode rootNode = new SharedNode(0, BitBoard.NONE, null, root, new SplittableRandom(1));
+        try {
+            player.search(rootNode, root);
+        } finally {
+            player.close();
+        }
+        assertTrue(player.getIterations() >= 5000);
+        assertEquals(player.getIterations(), rootNode.visits.get());
+        checkTree(rootNode, false);
+    }
+
+    @Test
+    public void singleWorkerVisitsEveryNodeOncePerIteration() {
+        BitBoard root = new Game(5).toBitBoard();
+        MCTStreeParallelPlayer player = new MCTStreeParallelPlayer("P", Color.BLUE, SearchBudget.iterations(3000));
+        player.setSeed(3);
+        SharedNode rootNode = new SharedNode(0, BitBoard.NONE, null, root, new SplittableRandom(1));
+        player.search(rootNode, root);
+        assertEquals(3000, player.getIterations());
+        assertEquals(3000, rootNode.visits.get());
+        checkTree(rootNode, true);
+    }
+
+    /**
+     * Checks that every claimed move of a node is published exactly once
+     * and that the visits add up without virtual losses. A node is visited
+     * once when it is created and then once per iteration through one of
+     * its children; with several workers it may also be simulated again
+     * while its last children are still being published.
+     */
+    private static void checkTree(SharedNode node, boolean exact) {
+        int claimed = Math.min(node.expanded.get(), node.moves.length);
+        int childVisits = 0;
+        for (int i = 0; i < node.moves.length; i++) {
+            SharedNode child = node.children.get(i);
+            if (i < claimed) {
+                assertNotNull(child);
+                assertSame(node, child.parent);
+                assertEquals(node.moves[i], child.move);
+                childVisits += child.visits.get();
+                checkTree(child, exact);
+            } else {
+                assertNull(child);
+            }
+        }
+        int visits = node.visits.get();
+        assertTrue(node.wins.get() <= visits);
+        if (node.moves.length > 0) {
+            int expected = childVisits + (node.parent == null ? 0 : 1);
+            if (exact) {
+                assertEquals(expected, visits);
+            } else {
+                assertTrue(visits >= expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.example.logic.BitBoard;
+import com.example.logic.Board;
+import com.example.logic.Game;
+import com.example.logic.Move;
+
+/**
+ * Unit tests for {@link MoveHeuristic}.
+ */
+public class MoveHeuristicTest {
+
+    @Test
+    public void winningMovesHaveTheHighestPrior() {
+        BitBoard board = BitBoard.fromPositionString(TestPositions.WIN_IN_ONE);
+        for (int move : board.getPossibleMoves()) {
+            double prior = MoveHeuristic.prior(board, move);
+            if (BitBoard.moveTo(move) == BitBoard.square(1, 3)) {
+                assertEquals(1, prior, 0);
+            } else {
+                assertTrue(prior < 1);
+            }
+        }
+    }
+
+    @Test
+    public void capturesRankAboveQuietMoves() {
+        BitBoard board = BitBoard.fromPositionString(
+                "b..B.../r....../......./......./......./......./...R... b Boar,Crab Tiger,Ox Eel");
+        double capture = 0;
+        double quiet = 1;
+        for (int move : board.getPossibleMoves()) {
+            double prior = MoveHeuristic.prior(board, move);
+            if (BitBoard.moveTo(move) == BitBoard.square(1, 0)) {
+                capture = Math.max(capture, prior);
+            } else if ((board.getMaster(BitBoard.BLUE) & (1L << BitBoard.moveFrom(move))) == 0) {
+                quiet = Math.min(quiet, prior);
+            }
+        }
+        assertTrue(capture > quiet);
+    }
+
+    @Test
+    public void movesAreExpandedByDecreasingPrior() {
+        BitBoard board = BitBoard.fromPositionString(
+                "b..B.../r....../......./......./......./......./...R... b Boar,Crab Tiger,Ox Eel");
+        List<Move> moves = Board.getPossibleMoves(new Game(board));
+        SplittableRandom random = new SplittableRandom(1);
+        Move capture = moves.get(MoveHeuristic.indexOfBest(board, moves, random));
+        assertEquals(BitBoard.square(1, 0), BitBoard.moveTo(capture.toPacked()));
+        double previous = 1;
+        while (!moves.isEmpty()) {
+            Move move = moves.remove(MoveHeuristic.indexOfBest(board, moves, random));
+            double prior = MoveHeuristic.prior(board, move.toPacked());
+            assertTrue(prior <= previous);
+            previous = prior;
+        }
+    }
+}
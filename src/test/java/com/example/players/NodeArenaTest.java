@@ -0,0 +1,54 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.example.logic.BitBoard;
+
+/**
+ * Unit tests for {@link NodeArena}.
+ */
+public class NodeArenaTest {
+
+    @Test
+    public void childrenAreHandedOutInOrder() {
+        NodeArena arena = new NodeArena(16);
+        int root = arena.newRoot();
+        int first = arena.addChildren(root, new int[]{7, 8, 9}, 3, BitBoard.BLUE);
+        assertEquals(4, arena.size());
+        assertFalse(arena.isExpanded(root));
+
+        for (int i = 0; i < 3; i++) {
+            int child = arena.nextUnexpanded(root);
+            assertEquals(first + i, child);
+            assertEquals(7 + i, arena.getMove(child));
+            assertEquals(BitBoard.BLUE, arena.getSide(child));
+            assertEquals(root, arena.getParent(child));
+        }
+        assertEquals(NodeArena.NONE, arena.nextUnexpanded(root));
+        assertTrue(arena.isExpanded(root));
+
+        arena.update(first, 1);
+        arena.update(first, 0.5);
+        assertEquals(2, arena.getVisits(first));
+        assertEquals(1.5, arena.getScore(first), 0);
+    }
+
+    @Test
+    public void fullArenaRejectsChildrenAndNewRootClearsIt() {
+        NodeArena arena = new NodeArena(3);
+        int root = arena.newRoot();
+        assertEquals(NodeArena.NONE, arena.addChildren(root, new int[]{1, 2, 3}, 3, BitBoard.RED));
+        assertEquals(0, arena.getChildCount(root));
+        arena.addChildren(root, new int[]{1, 2}, 2, BitBoard.RED);
+        arena.update(root, 1);
+
+        root = arena.newRoot();
+        assertEquals(1, arena.size());
+        assertEquals(0, arena.getVisits(root));
+        assertEquals(0, arena.getChildCount(root));
+    }
+}
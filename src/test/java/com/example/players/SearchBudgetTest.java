@@ -0,0 +1,58 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SearchBudget}.
+ */
+public class SearchBudgetTest {
+
+    @Test
+    public void fixedBudgetsStopAtTheLimit() {
+        SearchBudget iterations = SearchBudget.iterations(10);
+        iterations.start();
+        assertFalse(iterations.isExhausted(9, 100));
+        assertTrue(iterations.isExhausted(10, 0));
+
+        SearchBudget nodes = SearchBudget.nodes(10);
+        nodes.start();
+        assertFalse(nodes.isExhausted(100, 9));
+        assertTrue(nodes.isExhausted(1, 10));
+    }
+
+    @Test
+    public void fixedBudgetsBoundTheTreeSize() {
+        assertFalse(SearchBudget.iterations(10).isTimed());
+        assertEquals(640, SearchBudget.iterations(10).getMaxNodes(64));
+        assertEquals(74, SearchBudget.nodes(10).getMaxNodes(64));
+        assertEquals(Long.MAX_VALUE, SearchBudget.iterations(Long.MAX_VALUE).getMaxNodes(64));
+        assertTrue(SearchBudget.time(10).isTimed());
+        assertEquals(Long.MAX_VALUE, SearchBudget.timeBank(10).getMaxNodes(64));
+    }
+
+    @Test
+    public void emptyTimeBankStillAllowsOneIteration() {
+        SearchBudget bank = SearchBudget.timeBank(0);
+        bank.start();
+        assertFalse(bank.isExhausted(0, 0));
+        assertTrue(bank.isExhausted(1, 1));
+        bank.finish();
+    }
+
+    @Test
+    public void timeBudgetEndsAfterTheTime() throws InterruptedException {
+        SearchBudget time = SearchBudget.time(20);
+        time.start();
+        assertFalse(time.isExhausted(1, 1));
+        Thread.sleep(30);
+        long iterations = 2;
+        while (!time.isExhausted(iterations, iterations)) {
+            iterations++;
+        }
+        assertTrue(iterations < 1_000_000);
+    }
+}
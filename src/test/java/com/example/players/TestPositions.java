@@ -0,0 +1,15 @@
+package com.example.players;
+
+/**
+ * Positions shared by the player tests, in the format of
+ * {@link com.example.logic.BitBoard#fromPositionString(String)}.
+ */
+final class TestPositions {
+
+    // Blue to move can capture the red master from (0, 3) to (1, 3)
+    static final String WIN_IN_ONE =
+            "b..B.../r..R.../......./......./......./......./....... b Boar,Crab Tiger,Ox Eel";
+
+    private TestPositions() {
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.players;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TranspositionTable}.
+ */
+public class TranspositionTableTest {
+
+    @Test
+    public void storedEntryCanBeProbed() {
+        TranspositionTable table = new TranspositionTable(1024);
+        table.store(42L, 0x1234, -250, 7, TranspositionTable.BOUND_LOWER, 3);
+        long data = table.probe(42L);
+        assertEquals(0x1234, TranspositionTable.getMove(data));
+        assertEquals(-250, TranspositionTable.getScore(data));
+        assertEquals(7, TranspositionTable.getDepth(data));
+        assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.getBound(data));
+        assertEquals(3, TranspositionTable.getVisits(data));
+        assertEquals(TranspositionTable.MISS, table.probe(43L));
+    }
+
+    @Test
+    public void olderAndShallowerEntriesAreReplacedFirst() {
+        TranspositionTable table = new TranspositionTable(2);
+        table.store(1L, 0, 0, 10, TranspositionTable.BOUND_EXACT, 0);
+        table.store(2L, 0, 0, 3, TranspositionTable.BOUND_EXACT, 0);
+        table.store(3L, 0, 0, 5, TranspositionTable.BOUND_EXACT, 0);
+        assertEquals(10, TranspositionTable.getDepth(table.probe(1L)));
+        assertEquals(TranspositionTable.MISS, table.probe(2L));
+
+        table.newSearch();
+        table.store(4L, 0, 0, 1, TranspositionTable.BOUND_EXACT, 0);
+        assertEquals(TranspositionTable.MISS, table.probe(3L));
+        table.store(5L, 0, 0, 0, TranspositionTable.BOUND_EXACT, 0);
+        assertEquals(TranspositionTable.MISS, table.probe(1L));
+        assertEquals(1, TranspositionTable.getDepth(table.probe(4L)));
+    }
+
+    @Test
+    public void statisticsRoundTrip() {
+        TranspositionTable table = new TranspositionTable(16);
+        table.storeStatistics(7L, 200, 150);
+        long data = table.probe(7L);
+        assertEquals(200, TranspositionTable.getVisits(data));
+        assertEquals(0.75, TranspositionTable.getWinRate(data), 1e-4);
+    }
+
+    @Test
+    public void resultsAreAddedOncePerSimulation() {
+        TranspositionTable table = new TranspositionTable(16);
+        table.addResult(7L, 1);
+        table.addResult(7L, 0);
+        table.addResult(7L, 1);
+        table.addResult(7L, 1);
+        long data = table.probe(7L);
+        assertEquals(4, TranspositionTable.getVisits(data));
+        assertEquals(0.75, TranspositionTable.getWinRate(data), 1e-4);
+    }
+}
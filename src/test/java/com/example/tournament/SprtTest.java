@@ -0,0 +1,54 @@
+package com.example.tournament;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.example.players.AggressivePlayer;
+import com.example.players.RandomPlayer;
+
+/**
+ * Unit tests for {@link Sprt} and {@link Elo}.
+ */
+public class SprtTest {
+
+    @Test
+    public void eloMatchesScore() {
+        assertEquals(0, Elo.difference(50, 50), 1e-9);
+        assertEquals(0.75, Elo.expectedScore(Elo.difference(75, 25)), 1e-9);
+        assertEquals(-Elo.difference(70, 30), Elo.difference(30, 70), 1e-9);
+        assertTrue(Elo.errorMargin(400, 400) < Elo.errorMargin(100, 100));
+        assertEquals(Double.POSITIVE_INFINITY, Elo.errorMargin(10, 0), 0);
+    }
+
+    @Test
+    public void decidesOnClearResults() {
+        Sprt sprt = new Sprt(0, 50, 0.05, 0.05);
+        assertEquals(Sprt.Status.CONTINUE, sprt.getStatus(0, 0));
+        assertEquals(Sprt.Status.CONTINUE, sprt.getStatus(6, 4));
+        assertEquals(Sprt.Status.ACCEPT_H1, sprt.getStatus(150, 50));
+        assertEquals(Sprt.Status.ACCEPT_H0, sprt.getStatus(50, 150));
+    }
+
+    @Test
+    public void decidesOnClearPairResults() {
+        Sprt sprt = new Sprt(0, 50, 0.05, 0.05);
+        assertEquals(0, sprt.getPairLogLikelihoodRatio(0, 0, 0), 0);
+        assertEquals(Sprt.Status.CONTINUE, sprt.getPairStatus(3, 4, 3));
+        assertEquals(Sprt.Status.ACCEPT_H1, sprt.getPairStatus(10, 30, 60));
+        assertEquals(Sprt.Status.ACCEPT_H0, sprt.getPairStatus(60, 30, 10));
+        // A single pair is never enough, however clear it is
+        assertEquals(Sprt.Status.CONTINUE, sprt.getPairStatus(0, 0, 1));
+    }
+
+    @Test
+    public void tournamentStopsWhenTheTestDecides() {
+        // The aggressive player wins almost every game against the random player
+        Tournament tournament = new Tournament(AggressivePlayer::new, RandomPlayer::new, 2);
+        TournamentResult result = tournament.run(1000, 3, new Sprt(0, 100, 0.05, 0.05));
+        assertEquals(Sprt.Status.ACCEPT_H1, result.getStatus());
+        assertTrue(result.getGames() < 1000);
+        assertTrue(result.getPairs(2) > result.getPairs(0));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.tournament;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.example.players.AggressivePlayer;
+import com.example.players.RandomPlayer;
+
+/**
+ * Unit tests for {@link Tournament}.
+ */
+public class TournamentTest {
+
+    @Test
+    public void seededTournamentsAreReplayable() {
+        Tournament tournament = new Tournament(AggressivePlayer::new, RandomPlayer::new, 4);
+        TournamentResult result = tournament.run(40, 7);
+        assertEquals(40, result.getGames());
+        assertEquals(0, result.getErrors());
+        assertEquals(40, result.getFirstWins() + result.getSecondWins());
+        assertEquals(40, result.getBlueWins() + result.getRedWins());
+
+        TournamentResult replay = new Tournament(AggressivePlayer::new, RandomPlayer::new, 0).run(40, 7);
+        assertEquals(result.getFirstWins(), replay.getFirstWins());
+        assertEquals(result.getBlueWins(), replay.getBlueWins());
+        assertEquals(result.getStatistics().getTotalMoves(), replay.getStatistics().getTotalMoves());
+    }
+}